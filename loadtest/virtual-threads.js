@@ -0,0 +1,54 @@
+// 가상 스레드 vs 플랫폼 스레드 처리량 비교용 k6 스크립트
+//
+// 실행 방법 (같은 조건에서 두 번 실행 후 http_reqs / http_req_duration 비교)
+//   1) 플랫폼 스레드: VIRTUAL_THREADS_ENABLED=false 로 서버 기동
+//   2) 가상 스레드:   JAVA_VERSION=21, VIRTUAL_THREADS_ENABLED=true 로 서버 기동
+//                     (피닝 확인: JAVA_OPTS="-Djdk.tracePinnedThreads=short")
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<access token> -e MODE=platform loadtest/virtual-threads.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<access token> -e MODE=virtual  loadtest/virtual-threads.js
+//
+// 외부 I/O(OpenAI, FastAPI, 공공 API)를 타는 엔드포인트와 DB 만 타는 엔드포인트를 섞어서 호출한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const MODE = __ENV.MODE || 'unknown';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 100 },
+                { duration: '1m', target: 400 },
+                { duration: '1m', target: 400 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    tags: { mode: MODE },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = {
+    headers: { Authorization: `Bearer ${TOKEN}` },
+    timeout: '90s',
+};
+
+export default function () {
+    const roll = Math.random();
+    let res;
+    if (roll < 0.4) {
+        res = http.get(`${BASE_URL}/meals/date`, Object.assign({ tags: { name: 'meals-date' } }, params));
+    } else if (roll < 0.7) {
+        res = http.get(`${BASE_URL}/challenges/my`, Object.assign({ tags: { name: 'challenges-my' } }, params));
+    } else if (roll < 0.9) {
+        res = http.get(`${BASE_URL}/foods/search?query=${encodeURIComponent('김치')}`,
+            Object.assign({ tags: { name: 'foods-search' } }, params));
+    } else {
+        res = http.get(`${BASE_URL}/recommendations/today`, Object.assign({ tags: { name: 'recommendation' } }, params));
+    }
+    check(res, { 'status < 500': (r) => r.status < 500 });
+}
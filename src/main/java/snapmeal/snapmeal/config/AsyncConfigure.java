@@ -0,0 +1,120 @@
+package snapmeal.snapmeal.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 작업용 Executor 설정
+ * - llmTaskExecutor: OpenAI 호출 전용 (LlmGateway 에서 사용)
+ *   동시 실행 수는 LlmGateway 의 세마포어가 제한하고, 여기서는 대기 큐 크기만큼만 쌓이도록 제한
+ * - uploadTaskExecutor: 사진 업로드 시 S3 업로드와 FastAPI 예측을 동시에 돌리는 전용 풀 (S3UploadService)
+ * - challengeTaskExecutor: 야간 챌린지 판정 청크를 나눠 돌리는 풀 (ChallengeEvaluationJob)
+ * - foodIngestTaskExecutor: 빈 테이블로 기동했을 때 식품 DB 첫 적재를 돌리는 단일 스레드 (FoodDatasetIngestService)
+ * - spring.threads.virtual.enabled=true 이고 JDK 21 이상이면 플랫폼 스레드 풀 대신 가상 스레드 사용
+ *   (동시 작업 수 한도는 같고, 넘으면 두 모드 모두 TaskRejectedException 으로 거절)
+ */
+@Slf4j
+@Configuration
+public class AsyncConfigure {
+
+    @Value("${spring.openai.gateway.max-concurrent:8}")
+    private int llmMaxConcurrent;
+
+    @Value("${spring.openai.gateway.max-queue:100}")
+    private int llmMaxQueue;
+
+    @Value("${spring.upload.executor.max-pool-size:16}")
+    private int uploadMaxPoolSize;
+
+    @Value("${spring.upload.executor.queue-capacity:50}")
+    private int uploadQueueCapacity;
+
+    @Value("${challenge.evaluation.workers:4}")
+    private int challengeWorkers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Bean
+    public AsyncTaskExecutor llmTaskExecutor() {
+        if (useVirtualThreads()) {
+            // 가상 스레드는 세마포어 대기 중에도 캐리어 스레드를 점유하지 않으므로 풀 대신 동시 작업 수만 제한
+            // (가득 차면 플랫폼 풀처럼 거절 → LlmGateway 가 RejectedExecutionException 처리)
+            return new RejectingVirtualThreadExecutor("llm-", llmMaxConcurrent + llmMaxQueue);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(llmMaxConcurrent);
+        executor.setMaxPoolSize(llmMaxConcurrent);
+        executor.setQueueCapacity(llmMaxQueue);
+        executor.setThreadNamePrefix("llm-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public AsyncTaskExecutor uploadTaskExecutor() {
+        if (useVirtualThreads()) {
+            // 플랫폼 풀과 같은 한도(풀 + 큐)를 넘으면 요청 스레드를 막지 않고 거절 → 업로드 실패 처리
+            return new RejectingVirtualThreadExecutor("upload-", uploadMaxPoolSize + uploadQueueCapacity);
+        }
+
+        // 요청당 작업 2개(S3, FastAPI). 큐가 가득 차면 호출 스레드에서 바로 실행되지 않도록 거절 → 업로드 실패 처리
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadMaxPoolSize);
+        executor.setMaxPoolSize(uploadMaxPoolSize);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public AsyncTaskExecutor challengeTaskExecutor() {
+        // 청크마다 DB 커넥션을 하나씩 쓰므로 가상 스레드 여부와 관계없이 워커 수로 제한
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(challengeWorkers);
+        executor.setMaxPoolSize(challengeWorkers);
+        executor.setQueueCapacity(challengeWorkers);
+        executor.setThreadNamePrefix("challenge-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public AsyncTaskExecutor foodIngestTaskExecutor() {
+        // 기동당 한 번뿐인 긴 작업. 종료 시 진행 중인 페이지 트랜잭션이 끝나도록 기다린 뒤 인터럽트 (완료 표시가 없으면 다음 기동/회차에 재시도)
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("food-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 스프링 부트와 동일하게 JDK 21 미만에서는 설정이 켜져 있어도 플랫폼 스레드로 동작
+    private boolean useVirtualThreads() {
+        if (!virtualThreadsEnabled) {
+            return false;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true 이지만 JDK {} 에서는 가상 스레드를 사용할 수 없어 플랫폼 스레드로 실행합니다.",
+                    Runtime.version().feature());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package snapmeal.snapmeal.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpMetricsEventListener;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OpenAI 호출용 공용 OkHttpClient 설정
+ * - 호출마다 새 클라이언트를 만들지 않고, 커넥션 풀/디스패처를 애플리케이션 전체에서 공유
+ * - HTTP/2 우선 협상 → 같은 호스트(api.openai.com)로의 동시 요청을 한 커넥션에서 멀티플렉싱
+ * - 커넥션 풀/요청 지연시간은 Micrometer 로 노출 (okhttp.requests, okhttp.pool.*)
+ */
+@Configuration
+public class OkHttpConfigure {
+
+    @Value("${spring.openai.http.max-idle-connections:10}")
+    private int maxIdleConnections;
+
+    @Value("${spring.openai.http.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${spring.openai.http.max-requests:64}")
+    private int maxRequests;
+
+    @Value("${spring.openai.http.max-requests-per-host:32}")
+    private int maxRequestsPerHost;
+
+    @Value("${spring.openai.http.connect-timeout-seconds:5}")
+    private long connectTimeoutSeconds;
+
+    @Value("${spring.openai.http.read-timeout-seconds:60}")
+    private long readTimeoutSeconds;
+
+    @Value("${spring.openai.http.call-timeout-seconds:90}")
+    private long callTimeoutSeconds;
+
+    @Bean
+    public ConnectionPool openAiConnectionPool(MeterRegistry meterRegistry) {
+        ConnectionPool pool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+        new OkHttpConnectionPoolMetrics(pool, List.of(Tag.of("client", "openai"))).bindTo(meterRegistry);
+        return pool;
+    }
+
+    @Bean
+    public OkHttpClient openAiHttpClient(ConnectionPool openAiConnectionPool, MeterRegistry meterRegistry) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(openAiConnectionPool)
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
+                .callTimeout(callTimeoutSeconds, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .eventListener(OkHttpMetricsEventListener.builder(meterRegistry, "okhttp.requests")
+                        .tags(List.of(Tag.of("client", "openai")))
+                        // 호출 경로가 고정되어 있으므로 path 만 태그로 사용 (카디널리티 제한)
+                        .uriMapper(request -> request.url().encodedPath())
+                        .build())
+                .build();
+    }
+}
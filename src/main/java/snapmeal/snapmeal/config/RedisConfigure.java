@@ -8,8 +8,10 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import snapmeal.snapmeal.web.dto.NutritionRequestDto;
 import snapmeal.snapmeal.web.dto.TodayNutritionResponseDto;
 import snapmeal.snapmeal.web.dto.TodayRecommendationResponseDto;
 
@@ -70,4 +72,29 @@ public class RedisConfigure {
         return template;
     }
 
+    // 음식 목록별 영양 추정치 캐시 전용 RedisTemplate (FoodNutritionCache)
+    @Bean
+    public RedisTemplate<String, NutritionRequestDto.TotalNutritionRequestDto> foodNutritionRedisTemplate(ObjectMapper objectMapper) {
+        RedisTemplate<String, NutritionRequestDto.TotalNutritionRequestDto> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory());
+
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
+        Jackson2JsonRedisSerializer<NutritionRequestDto.TotalNutritionRequestDto> jsonSerializer =
+                new Jackson2JsonRedisSerializer<>(objectMapper, NutritionRequestDto.TotalNutritionRequestDto.class);
+
+        template.setKeySerializer(stringSerializer);
+        template.setValueSerializer(jsonSerializer);
+        template.setHashKeySerializer(stringSerializer);
+        template.setHashValueSerializer(jsonSerializer);
+
+        return template;
+    }
+
+    // pub/sub 구독용 (TokenRevocationIndex: 토큰 폐기 전파)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
 }
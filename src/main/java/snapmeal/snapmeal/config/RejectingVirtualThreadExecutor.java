@@ -0,0 +1,49 @@
+package snapmeal.snapmeal.config;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * 가상 스레드 실행기 + 동시 작업 수 제한 (가득 차면 기다리지 않고 거절)
+ * - SimpleAsyncTaskExecutor.setConcurrencyLimit 은 자리가 날 때까지 제출한 스레드(요청 스레드)를 막음
+ * - 플랫폼 스레드 풀(큐가 가득 차면 TaskRejectedException)과 과부하 동작을 맞추기 위해 tryAcquire 로 바로 거절
+ */
+final class RejectingVirtualThreadExecutor implements AsyncTaskExecutor, AutoCloseable {
+
+    private final SimpleAsyncTaskExecutor delegate;
+    private final Semaphore permits;
+    private final int limit;
+
+    RejectingVirtualThreadExecutor(String threadNamePrefix, int limit) {
+        this.delegate = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        this.delegate.setVirtualThreads(true);
+        this.limit = Math.max(1, limit);
+        this.permits = new Semaphore(this.limit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("동시 작업 수 초과 (limit=" + limit + ")");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -1,34 +1,30 @@
 package snapmeal.snapmeal.config.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
-import snapmeal.snapmeal.repository.BlacklistRepository;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationIndex tokenRevocationIndex;
 
-//    private final BlacklistRepository blacklistRepository;
-
-//    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, BlacklistRepository blacklistRepository) {
-//        this.jwtTokenProvider = jwtTokenProvider;
-//        this.blacklistRepository = blacklistRepository;
-//
-//    }
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenRevocationIndex tokenRevocationIndex) {
         this.jwtTokenProvider = jwtTokenProvider;
-
-
+        this.tokenRevocationIndex = tokenRevocationIndex;
     }
 
 
@@ -40,18 +36,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (token != null) {
-                System.out.println("Token found: " + token);
-//                if (blacklistRepository.isBlacklisted(token)) {
-//                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-//                    response.getWriter().write("로그아웃된 토큰입니다.");
-//                    return;
-//                }
-                if (jwtTokenProvider.validateToken(token)) {
-                    Authentication authentication = jwtTokenProvider.getAuthentication(token);
+                // 서명 검증 1회 + 클레임의 uid 로 캐시된 principal 사용 (요청마다 사용자 조회 없음)
+                Optional<Claims> claims = jwtTokenProvider.parseClaims(token);
+                // 폐기 확인은 로컬 블룸 필터 먼저 (걸릴 수도 있는 경우만 Redis)
+                if (claims.isPresent() && tokenRevocationIndex.isRevoked(claims.get(), token)) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.getWriter().write("로그아웃된 토큰입니다.");
+                    return;
+                }
+                Authentication authentication = claims.map(jwtTokenProvider::getAuthentication).orElse(null);
+                if (authentication != null) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    System.out.println("Authentication set in SecurityContext: " + authentication.getName());
                 } else {
-                    System.out.println("Invalid or expired token.");
+                    log.debug("Invalid or expired token.");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("Invalid or expired token.");
                     return;
@@ -65,7 +62,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(anonymousAuth);
             }
         } catch (Exception ex) {
-
+            log.error("JWT 인증 처리 실패", ex);
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.getWriter().write("Internal server error occurred.");
         }
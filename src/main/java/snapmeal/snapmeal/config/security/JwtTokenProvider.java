@@ -7,8 +7,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import snapmeal.snapmeal.domain.User;
@@ -19,6 +17,7 @@ import io.jsonwebtoken.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 @RequiredArgsConstructor
 @Component
@@ -27,7 +26,7 @@ import java.util.UUID;
 public class JwtTokenProvider {
 
     private final RefreshTokenRepository refreshTokenRepository;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     private Key key;
 
@@ -37,6 +36,10 @@ public class JwtTokenProvider {
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24;
     private static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24;
 
+    // 사용자 id 클레임 (필터가 이메일 대신 id 로 PrincipalCache 를 찾도록)
+    // 권한은 토큰에 넣지 않음: 캐시(TTL)를 거쳐 DB 값을 쓰므로 권한 변경/탈퇴가 토큰 만료 전에도 반영됨
+    public static final String CLAIM_USER_ID = "uid";
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
@@ -44,10 +47,13 @@ public class JwtTokenProvider {
 
     public TokenServiceResponse createToken(User user) {
         Claims claims = Jwts.claims().setSubject(user.getEmail());
+        claims.put(CLAIM_USER_ID, user.getId());
         Date now = new Date();
 
+        // jti: 로그아웃 시 토큰 전체 대신 이 값으로 폐기 (TokenRevocationIndex)
         String accessToken = Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + ACCESS_TOKEN_EXPIRE_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -55,6 +61,7 @@ public class JwtTokenProvider {
 
         String refreshToken = Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + REFRESH_TOKEN_EXPIRE_TIME))
                 .claim("random", UUID.randomUUID().toString())
@@ -68,21 +75,32 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * 서명 검증 + 클레임 파싱을 한 번에 (만료/위조/형식 오류면 empty)
+     * - 필터는 이 결과 하나로 검증과 인증 객체 생성을 모두 처리
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
-            System.out.println("JWT Token expired: " + e.getMessage());
+            log.debug("JWT Token expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            System.out.println("Unsupported JWT Token: " + e.getMessage());
+            log.debug("Unsupported JWT Token: {}", e.getMessage());
         } catch (MalformedJwtException e) {
-            System.out.println("Malformed JWT Token: " + e.getMessage());
+            log.debug("Malformed JWT Token: {}", e.getMessage());
         } catch (SignatureException e) {
-            System.out.println("Invalid JWT signature: " + e.getMessage());
+            log.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.out.println("JWT claims string is empty: " + e.getMessage());
+            log.debug("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     public boolean isTokenExpired(String token) {
@@ -109,13 +127,29 @@ public class JwtTokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        String email = getEmailFromToken(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
+        return parseClaims(token).map(this::getAuthentication).orElse(null);
+    }
 
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    /**
+     * 이미 검증된 클레임으로 인증 객체 생성. 사용자를 찾을 수 없으면 null
+     * - uid 클레임이 있으면 PrincipalCache 에서 id 로 (캐시 미스일 때만 PK 조회)
+     * - uid 가 없는 예전 토큰은 이메일로 조회
+     */
+    public Authentication getAuthentication(Claims claims) {
+        UserPrincipal principal = resolvePrincipal(claims);
+        if (principal == null) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
     }
 
+    private UserPrincipal resolvePrincipal(Claims claims) {
+        Object uid = claims.get(CLAIM_USER_ID);
+        if (uid instanceof Number number) {
+            return principalCache.get(number.longValue());
+        }
+        return principalCache.getByEmail(claims.getSubject());
+    }
 
     public long getExpiration(String token) {
         try {
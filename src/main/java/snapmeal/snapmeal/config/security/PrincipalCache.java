@@ -0,0 +1,65 @@
+package snapmeal.snapmeal.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import snapmeal.snapmeal.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * userId → UserPrincipal 로컬 캐시 (JwtAuthenticationFilter 가 요청마다 DB 를 조회하지 않도록)
+ * - 크기/TTL 제한 (security.principal-cache.*). TTL 이 지나면 탈퇴/권한 변경이 자연히 반영됨
+ * - 회원 정보 수정/탈퇴 시 evict 로 즉시 제거 (트랜잭션 안이면 커밋 후에)
+ * - 인스턴스별 캐시이므로 다른 인스턴스에는 최대 TTL 만큼 늦게 반영
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserPrincipal> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /** 없는 사용자면 null (캐시하지 않음) */
+    public UserPrincipal get(Long userId) {
+        return cache.get(userId, id -> userRepository.findById(id).map(UserPrincipal::of).orElse(null));
+    }
+
+    /** 예전 토큰(uid 클레임 없음)용: 이메일로 찾아 id 키로 캐시 */
+    public UserPrincipal getByEmail(String email) {
+        UserPrincipal principal = userRepository.findByEmail(email).map(UserPrincipal::of).orElse(null);
+        if (principal != null) {
+            cache.put(principal.getId(), principal);
+        }
+        return principal;
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,171 @@
+package snapmeal.snapmeal.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.util.BloomFilter;
+import snapmeal.snapmeal.repository.BlacklistRepository;
+
+/**
+ * access token 폐기 여부 확인 (JwtAuthenticationFilter)
+ * - 폐기된 jti 를 노드별 블룸 필터에 들고 있어 대부분의 요청은 Redis 없이 통과
+ * - 필터가 "있을 수도 있음" 이라고 할 때만 Redis 로 확인 (오탐이면 false_positive 로 집계)
+ * - 필터가 준비되지 않아 바로 Redis 로 간 확인은 unfiltered 로 따로 집계
+ * - 다른 노드의 폐기는 tokenRevocations 채널(pub/sub)로 받아 바로 반영
+ * - 블룸 필터는 삭제가 안 되므로 rebuild-interval 마다 Redis 의 살아있는 jti 로 새로 만들어 교체
+ *   (pub/sub 유실도 이때 복구). 첫 재구성 전이거나 실패한 상태면 매번 Redis 로 확인
+ * - jti 가 없는 예전 토큰은 기존 blacklist:{token} 키로 확인
+ */
+@Slf4j
+@Component
+public class TokenRevocationIndex implements MessageListener {
+
+    private final BlacklistRepository blacklistRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final int scanCount;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter next;  // 재구성 중 들어온 폐기도 새 필터에 넣기 위해
+    private volatile boolean ready;
+
+    private final Counter localClear;
+    private final Counter revoked;
+    private final Counter falsePositive;
+    private final Counter unfiltered;
+    private final Counter redisChecks;
+
+    public TokenRevocationIndex(BlacklistRepository blacklistRepository,
+                                JwtTokenProvider jwtTokenProvider,
+                                RedisMessageListenerContainer listenerContainer,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.revocation.expected-revocations:100000}") long expectedRevocations,
+                                @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                @Value("${security.revocation.scan-count:1000}") int scanCount) {
+        this.blacklistRepository = blacklistRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.listenerContainer = listenerContainer;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.scanCount = scanCount;
+        this.current = newFilter();
+
+        this.localClear = Counter.builder("token.revocation.checks").tag("result", "local_clear").register(meterRegistry);
+        this.revoked = Counter.builder("token.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsePositive = Counter.builder("token.revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        this.unfiltered = Counter.builder("token.revocation.checks").tag("result", "unfiltered").register(meterRegistry);
+        this.redisChecks = Counter.builder("token.revocation.redis_checks").register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.bytes", this, i -> i.current.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.entries", this, i -> i.current.insertions())
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.expected_fpp", this, i -> i.current.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        // 실제 오탐률: 폐기되지 않은 토큰 중 필터가 "있을 수도 있음" 이라고 한 비율
+        Gauge.builder("token.revocation.bloom.observed_fpp", this, i -> {
+                    double notRevoked = i.falsePositive.count() + i.localClear.count();
+                    return notRevoked == 0 ? 0.0 : i.falsePositive.count() / notRevoked;
+                })
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(BlacklistRepository.REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    /** 토큰 폐기 (로그아웃/탈퇴). ttlMillis 는 토큰 남은 수명 */
+    public void revoke(String token, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;  // 이미 만료된 토큰은 필터에서 어차피 거절됨
+        }
+        String jti = jwtTokenProvider.parseClaims(token).map(Claims::getId).orElse(null);
+        if (jti == null) {
+            blacklistRepository.addToBlacklist(token, ttlMillis);
+            return;
+        }
+        blacklistRepository.revokeJti(jti, ttlMillis);
+        add(jti);  // 자기 노드는 pub/sub 을 기다리지 않고 바로
+    }
+
+    /** 검증이 끝난 토큰의 폐기 여부 */
+    public boolean isRevoked(Claims claims, String token) {
+        String jti = claims.getId();
+        if (jti == null) {
+            redisChecks.increment();
+            return blacklistRepository.isBlacklisted(token);
+        }
+        boolean filtered = ready;
+        if (filtered && !current.mightContain(jti)) {
+            localClear.increment();
+            return false;
+        }
+        redisChecks.increment();
+        boolean result = blacklistRepository.isJtiRevoked(jti);
+        if (result) {
+            revoked.increment();
+        } else {
+            // 필터를 안 거친 확인은 오탐이 아님 (observed_fpp 에서 제외)
+            (filtered ? falsePositive : unfiltered).increment();
+        }
+        return result;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 만료된 jti 정리 + pub/sub 유실 복구 (노드마다 각자 실행)
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval-millis:300000}",
+            initialDelayString = "${security.revocation.rebuild-interval-millis:300000}")
+    public void rebuild() {
+        BloomFilter rebuilt = newFilter();
+        next = rebuilt;
+        try {
+            blacklistRepository.forEachRevokedJti(scanCount, rebuilt::put);
+            current = rebuilt;
+            ready = true;
+            log.debug("[TokenRevocationIndex] 재구성 완료: {}건, {} bytes", rebuilt.insertions(), rebuilt.sizeInBytes());
+        } catch (Exception e) {
+            // 목록을 다 못 읽었으면 로컬 필터를 믿을 수 없으므로 Redis 확인으로 전환
+            ready = false;
+            log.warn("[TokenRevocationIndex] 재구성 실패, Redis 직접 확인으로 동작: {}", e.getMessage());
+        } finally {
+            next = null;
+        }
+    }
+
+    BloomFilter newFilter() {
+        return new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * 재구성 중인 필터(next)를 먼저 읽고 거기부터 넣은 뒤 current 에 넣음
+     * - next 가 null 로 보였다면 재구성이 아직 시작 전(→ 그 SCAN 이 Redis 에 이미 쓰인 jti 를 읽음)이거나
+     *   이미 끝나 current 가 새 필터로 바뀐 뒤(→ current 에 넣음)이므로 새 필터에서 빠지지 않음
+     * - current 를 먼저 읽으면 교체 직전의 옛 필터에만 넣고 next == null 을 보게 되어 새 필터에서 빠질 수 있음
+     */
+    void add(String jti) {
+        BloomFilter pending = next;
+        if (pending != null) {
+            pending.put(jti);
+        }
+        current.put(jti);
+    }
+}
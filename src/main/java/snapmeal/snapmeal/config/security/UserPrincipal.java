@@ -0,0 +1,50 @@
+package snapmeal.snapmeal.config.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.domain.enums.Role;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 인증된 사용자 (SecurityContext 의 principal)
+ * - User 엔티티 대신 id/이메일/권한만 들고 있어 영속성 컨텍스트와 무관하게 캐시 가능 (PrincipalCache)
+ * - getUsername() 은 기존과 같이 이메일 → authentication.getName() 을 쓰던 코드는 그대로 동작
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+
+    public UserPrincipal(Long id, String email, Role role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role == null ? Collections.emptyList() : List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;  // 토큰 인증이라 비밀번호를 들고 있지 않음
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -8,9 +8,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,7 +26,10 @@ import snapmeal.snapmeal.domain.enums.ChallengeStatus;
  * - 컬럼/조인 컬럼은 스네이크 케이스로 명시
  */
 @Entity
-@Table(name = "challenges")
+@Table(name = "challenges",
+        uniqueConstraints = @UniqueConstraint(name = "uk_challenges_user_start_menu",
+                columnNames = {"user_id", "start_date", "target_menu_name"}),
+        indexes = @Index(name = "idx_challenges_status_end_date", columnList = "status, end_date, challenge_id"))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -82,6 +87,15 @@ public class Challenges extends BaseEntity {
     @Builder.Default
     private boolean isAvoidType = false;
 
+    /**
+     * 타겟 메뉴를 기록한 날 비트맵 (bit i = start_date + i 일)
+     * - 식단 저장/수정/삭제 시 증분 갱신 → 스탬프 조회 시 식단 쿼리 없음
+     * - null 이면 아직 계산 전 (조회 시 식단에서 계산, 백필로 채움)
+     * - 변경은 ChallengeRepository 의 원자적 UPDATE 로만 (엔티티 flush 로는 쓰지 않음 → 동시 갱신 비트/상태가 덮이지 않음)
+     */
+    @Column(name = "menu_day_bits", updatable = false)
+    private Long menuDayBits;
+
     // ====== 도메인 메서드: 상태 전환 로직(서비스에서 재사용) ======
 
     /** 사용자가 "참여하기" 버튼을 눌렀을 때 호출 */
@@ -115,6 +129,37 @@ public class Challenges extends BaseEntity {
         }
     }
 
+    /** 비트맵으로 담을 수 있는 기간인지 (최대 64일) */
+    public boolean isMenuDayBitsSupported() {
+        return getDays() <= Long.SIZE;
+    }
+
+    public int getDays() {
+        return (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+    }
+
+    /** 특정 날짜의 비트 (기간 밖이면 0) */
+    public long menuDayBit(java.time.LocalDate day) {
+        if (day.isBefore(startDate) || day.isAfter(endDate)) {
+            return 0L;
+        }
+        return 1L << (day.toEpochDay() - startDate.toEpochDay());
+    }
+
+    /** 메모리 값만 갱신 (DB 는 ChallengeRepository.setMenuDayBit/clearMenuDayBit 로 따로 씀) */
+    public void markMenuDay(java.time.LocalDate day, boolean recorded) {
+        long bit = menuDayBit(day);
+        if (menuDayBits == null || bit == 0L) {
+            return;
+        }
+        this.menuDayBits = recorded ? (menuDayBits | bit) : (menuDayBits & ~bit);
+    }
+
+    /** 전체 재계산 결과로 메모리 값 교체 (DB 는 ChallengeRepository.updateMenuDayBits 로 따로 씀) */
+    public void resetMenuDayBits(long bits) {
+        this.menuDayBits = bits;
+    }
+
     @Enumerated(EnumType.STRING)
     // 기간 종료 시, 참여하지 않은 챌린지 처리
     public void markNotParticipated() {
@@ -0,0 +1,54 @@
+package snapmeal.snapmeal.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 하루 영양 섭취 합계
+ * - 식단 저장/삭제 시 증감분만 더해서 유지 (DailyNutritionTotalsService)
+ * - 증감은 INSERT ... ON DUPLICATE KEY UPDATE 로 처리하므로 user 는 연관관계가 아닌 id 컬럼으로 보관
+ * - 원본(meals + nutrition_analysis)과 어긋난 값은 매일 새벽 재계산 작업이 바로잡음
+ */
+@Entity
+@Table(name = "daily_nutrition_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_nutrition_totals_user_date",
+                columnNames = {"user_id", "meal_date"}))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyNutritionTotals {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "meal_date", nullable = false)
+    private LocalDate mealDate;
+
+    @Column(nullable = false)
+    private Long calories;
+    @Column(nullable = false)
+    private Double protein;
+    @Column(nullable = false)
+    private Double carbs;
+    @Column(nullable = false)
+    private Double sugar;
+    @Column(nullable = false)
+    private Double fat;
+    @Column(nullable = false)
+    private Double sodium;
+
+    // 영양 분석이 연결된 식단 수
+    @Column(name = "meal_count", nullable = false)
+    private Long mealCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,48 @@
+package snapmeal.snapmeal.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import snapmeal.snapmeal.domain.common.BaseEntity;
+
+/**
+ * 식품영양성분 DB 로컬 사본
+ * - 공공데이터 API(getFoodNtrCpntDbInq02) 전체를 주기적으로 적재 (FoodDatasetIngestService)
+ * - 검색은 이 테이블로 만든 메모리 인덱스(FoodSearchIndex)에서 처리
+ */
+@Entity
+@Table(name = "food_nutrition_item",
+        uniqueConstraints = @UniqueConstraint(name = "uk_food_nutrition_item_code", columnNames = "food_code"),
+        indexes = @Index(name = "idx_food_nutrition_item_name", columnList = "name"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FoodNutritionItem extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "food_code", nullable = false, length = 50)
+    private String foodCode;
+
+    @Column(nullable = false)
+    private String name;
+
+    private Double kcal;
+    private Double carbo;
+    private Double protein;
+    private Double fat;
+    private Double sugar;
+    private Double sodium;
+
+    public void updateFrom(FoodNutritionItem source) {
+        this.name = source.name;
+        this.kcal = source.kcal;
+        this.carbo = source.carbo;
+        this.protein = source.protein;
+        this.fat = source.fat;
+        this.sugar = source.sugar;
+        this.sodium = source.sodium;
+    }
+}
@@ -0,0 +1,31 @@
+package snapmeal.snapmeal.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 클러스터 작업 펜싱 토큰 (락 이름당 한 행)
+ * - 샤드를 잡은 노드가 시작할 때 자기 토큰으로 올리고(GREATEST), 쓰기 트랜잭션마다 공유 락으로 읽어 비교
+ * - 더 큰 토큰이 기록돼 있으면 리스를 잃은 이전 보유자 → 그 트랜잭션은 롤백 (JobFenceRepository)
+ */
+@Entity
+@Table(name = "job_fence")
+@Getter
+@NoArgsConstructor
+public class JobFence {
+
+    @Id
+    @Column(name = "lock_name", length = 100)
+    private String lockName;
+
+    @Column(nullable = false)
+    private Long token;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
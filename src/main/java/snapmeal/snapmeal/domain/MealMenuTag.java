@@ -0,0 +1,41 @@
+package snapmeal.snapmeal.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 식단 메뉴 → 표준 메뉴(MenuCanonicalizer) 매핑
+ * - 식단 저장/수정 시 채움 (MealMenuTagService). "로제 떡볶이" 식단이면 "떡볶이" 한 행
+ * - 챌린지 판정은 menu LIKE '%..%' 대신 (user_id, canonical_menu, meal_date) 인덱스로 동등 비교
+ * - 대량 삭제/백필을 쿼리 한 번으로 하기 위해 user/meal 은 연관관계가 아닌 id 컬럼으로 보관
+ */
+@Entity
+@Table(name = "meal_menu_tag",
+        indexes = {
+                @Index(name = "idx_meal_menu_tag_user_menu_date", columnList = "user_id, canonical_menu, meal_date"),
+                @Index(name = "idx_meal_menu_tag_meal", columnList = "meal_id")
+        })
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealMenuTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "meal_id", nullable = false)
+    private Long mealId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "meal_date", nullable = false)
+    private LocalDateTime mealDate;
+
+    @Column(name = "canonical_menu", nullable = false, length = 100)
+    private String canonicalMenu;
+}
@@ -11,6 +11,11 @@ import snapmeal.snapmeal.domain.enums.MealType;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_meals_user_meal_date", columnList = "user_id, meal_date"),
+        // 기간 전체 사용자 집계 (주간 리포트 / 하루 합계 재계산)
+        @Index(name = "idx_meals_meal_date_user", columnList = "meal_date, user_id")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
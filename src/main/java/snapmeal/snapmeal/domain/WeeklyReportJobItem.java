@@ -0,0 +1,63 @@
+package snapmeal.snapmeal.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 주간 리포트 생성 작업 항목 (사용자 × 주 한 행)
+ * - 1단계: 한 주 영양 합계를 SQL 로 집계해 PENDING 으로 채움 (WeeklyReportJob)
+ * - 2단계: PENDING/재시도 가능한 FAILED 항목만 골라 OpenAI 호출 → 리포트 저장과 함께 DONE
+ * - 중간에 죽어도 DONE 이 아닌 항목만 다음 실행에서 이어서 처리
+ * - INSERT ... SELECT 로 채우므로 user 는 연관관계가 아닌 id 컬럼으로 보관
+ */
+@Entity
+@Table(name = "weekly_report_job_items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_weekly_report_job_items_user_week",
+                columnNames = {"user_id", "week_start"}),
+        indexes = @Index(name = "idx_weekly_report_job_items_week_status",
+                columnList = "week_start, status, id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyReportJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WeeklyReportJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // 한 주 합계 (1단계 집계 결과)
+    @Column(name = "total_calories")
+    private Double totalCalories;
+    @Column(name = "total_protein")
+    private Double totalProtein;
+    @Column(name = "total_carbs")
+    private Double totalCarbs;
+    @Column(name = "total_sugar")
+    private Double totalSugar;
+    @Column(name = "total_fat")
+    private Double totalFat;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package snapmeal.snapmeal.domain.enums;
+
+public enum WeeklyReportJobStatus {
+    PENDING,   // 집계 완료, 리포트 생성 대기
+    DONE,      // 리포트 저장 완료
+    FAILED     // 재시도 후에도 실패 (attempts < max-attempts 면 다음 실행에서 다시 시도)
+}
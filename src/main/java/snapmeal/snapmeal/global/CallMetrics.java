@@ -0,0 +1,92 @@
+package snapmeal.snapmeal.global;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 호출/캐시 구간 타이머 (Prometheus 로 노출, 퍼센타일/SLO 버킷은 application.yml 의 management.metrics.distribution)
+ * - external.call{client, operation, outcome, exception}: OpenAI chat/vision, FastAPI, S3, 식품영양성분 API
+ * - cache.redis{cache, operation, result}: Redis 캐시 get(hit/miss/error) / set(ok/error)
+ * - 리포지토리는 Spring Data 기본 타이머(spring.data.repository.invocations) + RepositoryMetricsAspect
+ */
+@Component
+public class CallMetrics {
+
+    public static final String EXTERNAL_CALL = "external.call";
+    public static final String REDIS_CACHE = "cache.redis";
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidCall<E extends Exception> {
+        void call() throws E;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public CallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T, E extends Exception> T external(String client, String operation, Call<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return call.call();
+        } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(EXTERNAL_CALL)
+                    .tag("client", client)
+                    .tag("operation", operation)
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    public <E extends Exception> void externalRun(String client, String operation, VoidCall<E> call) throws E {
+        external(client, operation, () -> {
+            call.call();
+            return null;
+        });
+    }
+
+    /** 캐시 조회. null 이면 miss, 예외면 error 로 기록하고 그대로 던짐 */
+    public <T> T cacheGet(String cache, Supplier<T> get) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
+        try {
+            T value = get.get();
+            result = value == null ? "miss" : "hit";
+            return value;
+        } finally {
+            sample.stop(cacheTimer(cache, "get", result));
+        }
+    }
+
+    public void cacheSet(String cache, Runnable set) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
+        try {
+            set.run();
+            result = "ok";
+        } finally {
+            sample.stop(cacheTimer(cache, "set", result));
+        }
+    }
+
+    private Timer cacheTimer(String cache, String operation, String result) {
+        return Timer.builder(REDIS_CACHE)
+                .tag("cache", cache)
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
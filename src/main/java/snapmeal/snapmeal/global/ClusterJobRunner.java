@@ -0,0 +1,294 @@
+package snapmeal.snapmeal.global;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import snapmeal.snapmeal.global.RedisLeaseLock.Lease;
+import snapmeal.snapmeal.repository.JobFenceRepository;
+
+/**
+ * 여러 인스턴스에서 같은 @Scheduled 가 떠도 한 번만 실행되게 하는 실행기
+ * - 작업(+샤드)마다 RedisLeaseLock 을 잡은 노드만 실행
+ * - 끝난 샤드는 jobDone:{job}:{runId}:{shard} 로 표시해, 락이 풀린 뒤 늦게 뜬 노드가 같은 회차를 다시 돌리지 않음
+ * - sharded 작업은 scheduling.shards 개로 나누고, 노드마다 다른 샤드부터 시도해 자연스럽게 나눠 가짐
+ *   (노드가 하나뿐이거나 다른 노드가 죽었으면 남은 샤드를 혼자 모두 처리)
+ * - 실패한 샤드는 완료 표시를 남기지 않으므로 다음 스케줄/다른 노드가 다시 시도할 수 있음
+ * - 펜싱: 샤드를 잡으면 job_fence 에 토큰을 올리고, 작업은 쓰기 트랜잭션마다 JobShard.fence() 로 확인
+ *   (리스를 잃은 뒤 늦게 도착한 쓰기는 새 보유자의 토큰에 막혀 롤백)
+ * - 이어받기: 이 노드에서 스케줄된 회차 중 완료 표시가 없는 샤드는 resume-interval 마다 다시 시도
+ *   (실패/리스 상실/다른 노드가 잡고 있다가 죽은 경우). resume-window 가 지나면 포기
+ */
+@Slf4j
+@Component
+public class ClusterJobRunner {
+
+    private static final String DONE_PREFIX = "jobDone:";
+
+    /** 실행 중인 샤드. 작업은 페이지마다 checkLease() 로 리스가 아직 내 것인지 확인하고, false 면 즉시 멈춰야 함 */
+    public final class JobShard {
+
+        private final int index;
+        private final int total;
+        private final Lease lease;
+
+        private JobShard(int index, int total, Lease lease) {
+            this.index = index;
+            this.total = total;
+            this.lease = lease;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public long token() {
+            return lease.token();
+        }
+
+        /** 이 샤드가 맡은 id 인지 (id % total == index) */
+        public boolean owns(long id) {
+            return Math.floorMod(id, total) == index;
+        }
+
+        /**
+         * 쓰기 트랜잭션 안에서 호출: 더 큰 토큰이 기록돼 있으면(리스를 잃음) 예외 → 트랜잭션 롤백
+         * 공유 락을 커밋까지 잡으므로, 새 보유자의 토큰 갱신은 이 트랜잭션이 끝난 뒤에 일어남
+         */
+        public void fence() {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("fence() 는 쓰기 트랜잭션 안에서 호출해야 함");
+            }
+            long current = jobFenceRepository.findTokenForShare(lease.name()).orElse(0L);
+            if (current > lease.token()) {
+                throw new IllegalStateException("펜싱 토큰 만료: " + lease.name()
+                        + " (token=" + lease.token() + ", current=" + current + ")");
+            }
+        }
+
+        /** 리스 연장 겸 펜싱 확인 */
+        public boolean checkLease() {
+            boolean held = redisLeaseLock.extend(lease, leaseTime);
+            if (!held) {
+                log.warn("[ClusterJob] {} 리스 상실 (token={}), 작업 중단", lease.name(), lease.token());
+            }
+            return held;
+        }
+    }
+
+    /** 이어받기 대상 회차 */
+    private record PendingRun(String job, String runId, int total, Consumer<JobShard> work, long registeredAtMillis) {
+    }
+
+    private final RedisLeaseLock redisLeaseLock;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JobFenceRepository jobFenceRepository;
+    private final MeterRegistry meterRegistry;
+
+    // job + runId → 아직 모든 샤드가 끝나지 않은 회차
+    private final ConcurrentMap<String, PendingRun> pendingRuns = new ConcurrentHashMap<>();
+
+    private final String nodeId;
+    private final int shards;
+    private final Duration leaseTime;
+    private final Duration minHold;
+    private final Duration doneTtl;
+    private final Duration resumeWindow;
+
+    public ClusterJobRunner(RedisLeaseLock redisLeaseLock,
+                            StringRedisTemplate stringRedisTemplate,
+                            JobFenceRepository jobFenceRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${scheduling.node-id:}") String nodeId,
+                            @Value("${scheduling.shards:1}") int shards,
+                            @Value("${scheduling.lock.lease:5m}") Duration leaseTime,
+                            @Value("${scheduling.lock.min-hold:30s}") Duration minHold,
+                            @Value("${scheduling.done-ttl:8d}") Duration doneTtl,
+                            @Value("${scheduling.resume-window:12h}") Duration resumeWindow) {
+        this.redisLeaseLock = redisLeaseLock;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jobFenceRepository = jobFenceRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.shards = Math.max(1, shards);
+        this.leaseTime = leaseTime;
+        this.minHold = minHold;
+        this.doneTtl = doneTtl;
+        this.resumeWindow = resumeWindow;
+        log.info("[ClusterJob] nodeId={}, shards={}", this.nodeId, this.shards);
+    }
+
+    /**
+     * 샤딩하지 않는 작업 (캐시 초기화, 템플릿 생성, 식품 DB 적재 등). 이 노드가 실행했으면 true
+     * - 샤드 하나(0/1)로 실행. 리스(scheduling.lock.lease)보다 오래 걸릴 수 있는 작업은
+     *   페이지/배치마다 shard.checkLease() 로 연장하고, 쓰기 트랜잭션에서 shard.fence() 호출
+     */
+    public boolean runOnce(String job, String runId, Consumer<JobShard> work) {
+        boolean ran = runShard(job, runId, 0, 1, work);
+        trackPending(new PendingRun(job, runId, 1, work, System.currentTimeMillis()));
+        return ran;
+    }
+
+    /**
+     * 사용자/챌린지 범위를 scheduling.shards 개로 나눠 실행. 이 노드가 처리한 샤드 수 반환
+     * @param runId 회차 식별자 (예: 날짜, 주 시작일). 같은 회차의 같은 샤드는 한 번만 완료됨
+     */
+    public int runSharded(String job, String runId, Consumer<JobShard> work) {
+        int ran = runShards(job, runId, shards, work);
+        trackPending(new PendingRun(job, runId, shards, work, System.currentTimeMillis()));
+        return ran;
+    }
+
+    /** 완료 표시가 없는 샤드 이어받기 (노드마다 각자 실행) */
+    @Scheduled(fixedDelayString = "${scheduling.resume-interval-millis:300000}",
+            initialDelayString = "${scheduling.resume-interval-millis:300000}")
+    public void resumeUnfinished() {
+        long now = System.currentTimeMillis();
+        for (PendingRun run : pendingRuns.values()) {
+            if (now - run.registeredAtMillis() > resumeWindow.toMillis()) {
+                log.warn("[ClusterJob] {} ({}) 이어받기 기한 초과, 포기", run.job(), run.runId());
+                count(run.job(), "abandoned");
+                pendingRuns.remove(key(run), run);
+                continue;
+            }
+            runShards(run.job(), run.runId(), run.total(), run.work());
+            trackPending(run);
+        }
+    }
+
+    private int runShards(String job, String runId, int total, Consumer<JobShard> work) {
+        int ran = 0;
+        int offset = Math.floorMod(nodeId.hashCode(), total);
+        for (int i = 0; i < total; i++) {
+            if (runShard(job, runId, (offset + i) % total, total, work)) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    // 모든 샤드가 끝났으면 목록에서 빼고, 아니면 (처음 등록 시각을 유지한 채) 남겨 둠
+    private void trackPending(PendingRun run) {
+        if (allDone(run.job(), run.runId(), run.total())) {
+            pendingRuns.remove(key(run));
+        } else {
+            pendingRuns.putIfAbsent(key(run), run);
+        }
+    }
+
+    private boolean allDone(String job, String runId, int total) {
+        try {
+            for (int index = 0; index < total; index++) {
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(doneKey(job, runId, index, total)))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String key(PendingRun run) {
+        return run.job() + ":" + run.runId();
+    }
+
+    private static String lockName(String job, int index, int total) {
+        return total == 1 ? job : job + ":" + index + "/" + total;
+    }
+
+    private static String doneKey(String job, String runId, int index, int total) {
+        return DONE_PREFIX + lockName(job, index, total) + ":" + runId;
+    }
+
+    private boolean runShard(String job, String runId, int index, int total, Consumer<JobShard> work) {
+        String lockName = lockName(job, index, total);
+        String doneKey = doneKey(job, runId, index, total);
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(doneKey))) {
+                count(job, "already_done");
+                return false;
+            }
+        } catch (Exception e) {
+            // Redis 없이는 중복 방지를 보장할 수 없으므로 실행하지 않음
+            log.error("[ClusterJob] {} 상태 조회 실패, 이번 회차 건너뜀: {}", lockName, e.getMessage());
+            count(job, "redis_error");
+            return false;
+        }
+
+        Optional<Lease> acquired;
+        try {
+            acquired = redisLeaseLock.tryAcquire(lockName, nodeId, leaseTime);
+        } catch (Exception e) {
+            log.error("[ClusterJob] {} 락 획득 실패, 이번 회차 건너뜀: {}", lockName, e.getMessage());
+            count(job, "redis_error");
+            return false;
+        }
+        if (acquired.isEmpty()) {
+            log.info("[ClusterJob] {} 다른 노드에서 실행 중, 건너뜀", lockName);
+            count(job, "skipped");
+            return false;
+        }
+
+        Lease lease = acquired.get();
+        JobShard shard = new JobShard(index, total, lease);
+        try {
+            // 락을 잡기 직전에 다른 노드가 끝냈을 수 있으므로 한 번 더 확인
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(doneKey))) {
+                count(job, "already_done");
+                return false;
+            }
+            // 이전 보유자의 진행 중인 쓰기가 끝난 뒤 토큰을 올림 → 이후 이전 보유자의 쓰기는 fence() 에서 막힘
+            jobFenceRepository.advance(lockName, lease.token());
+            log.info("[ClusterJob] {} ({}) 시작 - node={}, token={}", lockName, runId, nodeId, lease.token());
+            work.accept(shard);
+            if (!redisLeaseLock.extend(lease, leaseTime)) {
+                // 도중에 리스를 잃었으면 완료로 표시하지 않음 (새 보유자가 이어서 처리)
+                count(job, "lease_lost");
+                return false;
+            }
+            stringRedisTemplate.opsForValue().set(doneKey, nodeId + ":" + lease.token(), doneTtl);
+            count(job, "ran");
+            return true;
+        } catch (Exception e) {
+            log.error("[ClusterJob] {} ({}) 실패 - token={}", lockName, runId, lease.token(), e);
+            count(job, "failed");
+            return false;
+        } finally {
+            redisLeaseLock.release(lease, minHold);
+        }
+    }
+
+    private void count(String job, String result) {
+        Counter.builder("scheduling.job.runs")
+                .tag("job", job)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,66 @@
+package snapmeal.snapmeal.global;
+
+import jakarta.annotation.PostConstruct;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import snapmeal.snapmeal.web.dto.FoodApiResponseDto;
+
+/**
+ * 공공데이터포털 식품영양성분 API(getFoodNtrCpntDbInq02) 호출
+ * - 검색 폴백(FoodSearchService)과 전체 적재(FoodDatasetIngestService)가 같이 사용
+ * - 서비스 키는 시작 시 한 번만 인코딩
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoodApiClient {
+
+    private final RestTemplate restTemplate;
+    private final CallMetrics callMetrics;
+
+    @Value("${food-api.base-url}")
+    private String baseUrl;
+
+    // 디코딩된 키
+    @Value("${food-api.key}")
+    private String foodApiKey;
+
+    private String encodedKey;
+
+    @PostConstruct
+    void init() {
+        this.encodedKey = URLEncoder.encode(foodApiKey, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param foodName 검색할 식품명, null 이면 전체 목록 (적재용)
+     */
+    public FoodApiResponseDto fetch(String foodName, int page, int size) {
+        StringBuilder query = new StringBuilder()
+                .append("serviceKey=").append(encodedKey)
+                .append("&pageNo=").append(page)
+                .append("&numOfRows=").append(size)
+                .append("&type=json");
+        if (foodName != null) {
+            query.append("&FOOD_NM_KR=").append(URLEncoder.encode(foodName, StandardCharsets.UTF_8));
+        }
+
+        URI uri = UriComponentsBuilder
+                .fromHttpUrl(baseUrl)
+                .path("/getFoodNtrCpntDbInq02")
+                .query(query.toString()) // 이미 인코딩된 문자열을 그대로 사용
+                .build(true)
+                .toUri();
+
+        log.debug("식품영양성분 API 요청 page={}, size={}, foodName={}", page, size, foodName);
+        return callMetrics.external("food-api", "fetch",
+                () -> restTemplate.getForObject(uri, FoodApiResponseDto.class));
+    }
+}
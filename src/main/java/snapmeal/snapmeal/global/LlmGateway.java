@@ -0,0 +1,171 @@
+package snapmeal.snapmeal.global;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.code.ErrorCode;
+import snapmeal.snapmeal.global.handler.GeneralException;
+
+/**
+ * OpenAI 호출 게이트웨이
+ * - 동시에 나가는 OpenAI 요청 수를 세마포어로 제한 (동기/비동기 호출이 같은 한도를 공유)
+ * - 한도를 넘으면 최대 max-queue 개까지만 대기, max-wait 안에 차례가 오지 않으면 AI_GATEWAY_BUSY
+ * - 비동기 호출은 llmTaskExecutor 에서 실행되어 서블릿 스레드를 붙잡지 않음
+ * - 배치 작업용 호출(requestBatchCompletionAsync)은 대기열/대기 시간 한도 없이 permit 을 기다림
+ *   대신 호출 측이 자체 동시 수를 maxConcurrent 보다 작게 제한해 대화형 요청 몫을 남겨둬야 함
+ */
+@Slf4j
+@Component
+public class LlmGateway {
+
+    private final OpenAiClient openAiClient;
+    private final Executor llmTaskExecutor;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+
+    public LlmGateway(OpenAiClient openAiClient,
+                      @Qualifier("llmTaskExecutor") Executor llmTaskExecutor,
+                      MeterRegistry meterRegistry,
+                      @Value("${spring.openai.gateway.max-concurrent:8}") int maxConcurrent,
+                      @Value("${spring.openai.gateway.max-queue:100}") int maxQueue,
+                      @Value("${spring.openai.gateway.max-wait-millis:10000}") long maxWaitMillis) {
+        this.openAiClient = openAiClient;
+        this.llmTaskExecutor = llmTaskExecutor;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("llm.gateway.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("llm.gateway.waiting", waiting, AtomicInteger::get)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("llm.gateway.rejected").register(meterRegistry);
+    }
+
+    /** 비동기 호출: 결과는 llm-* 스레드에서 완료됨 (SecurityContext 없음에 주의) */
+    public CompletableFuture<String> requestCompletionAsync(String systemPrompt, String userPrompt) {
+        if (!reserveSlot()) {
+            return CompletableFuture.failedFuture(busy());
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return callWithPermit(systemPrompt, userPrompt, deadline);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, llmTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            return CompletableFuture.failedFuture(busy());
+        }
+    }
+
+    /**
+     * 배치 호출: 대화형 대기열(max-queue)을 쓰지 않고, max-wait 없이 permit 이 날 때까지 기다림
+     * - 호출 측(WeeklyReportJob 등)이 동시 호출 수를 maxConcurrent 미만으로 제한하는 것이 전제
+     */
+    public CompletableFuture<String> requestBatchCompletionAsync(String systemPrompt, String userPrompt) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return requestBatchCompletion(systemPrompt, userPrompt, null);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, llmTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(busy());
+        }
+    }
+
+    /**
+     * 배치 동기 호출: 응답이 큰 작업(템플릿 풀 등)용. timeout 이 null 이면 chat 기본 타임아웃
+     * - permit 대기는 배치 호출과 같음 (대기열/대기 시간 한도 없음)
+     */
+    public String requestBatchCompletion(String systemPrompt, String userPrompt, Duration timeout) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        }
+        try {
+            return timeout == null
+                    ? openAiClient.requestCompletion(systemPrompt, userPrompt)
+                    : openAiClient.requestCompletion(systemPrompt, userPrompt, timeout);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /** 동기 호출: 스케줄러 등 이미 별도 스레드에서 도는 작업용. 한도는 비동기 호출과 공유 */
+    public String requestCompletion(String systemPrompt, String userPrompt) throws IOException {
+        if (!reserveSlot()) {
+            throw busy();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        return callWithPermit(systemPrompt, userPrompt, deadline);
+    }
+
+    private boolean reserveSlot() {
+        // 아직 permit 을 얻지 못한 요청이 maxQueue 를 넘으면 바로 거절
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private String callWithPermit(String systemPrompt, String userPrompt, long deadline) throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            throw busy();
+        }
+
+        try {
+            return openAiClient.requestCompletion(systemPrompt, userPrompt);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private GeneralException busy() {
+        rejected.increment();
+        log.warn("[LlmGateway] 대기 한도 초과로 요청 거절 (in-flight={}, waiting={})",
+                maxConcurrent - permits.availablePermits(), waiting.get());
+        return new GeneralException(ErrorCode.AI_GATEWAY_BUSY);
+    }
+}
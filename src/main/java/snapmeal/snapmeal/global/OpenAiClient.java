@@ -1,5 +1,6 @@
 package snapmeal.snapmeal.global;
 
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -11,21 +12,41 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class OpenAiClient {
 
+    private static final MediaType JSON = MediaType.get("application/json");
+
     @Value("${API_KEY}")
     private String apiKey;
 
+    // 채팅 호출 기본 타임아웃 (호출 단위, 연결+전송+응답 전체)
+    @Value("${spring.openai.http.chat-timeout-seconds:30}")
+    private long chatTimeoutSeconds;
+
     private final String endpoint = "https://api.openai.com/v1/chat/completions";
     private final String model = "gpt-4o-mini"; // 또는 gpt-4o, gpt-3.5-turbo 등
 
+    // OkHttpConfigure 에서 만든 공용 클라이언트 (커넥션 풀/디스패처 공유)
+    private final OkHttpClient httpClient;
+
+    private final CallMetrics callMetrics;
+
+    public OpenAiClient(OkHttpClient openAiHttpClient, CallMetrics callMetrics) {
+        this.httpClient = openAiHttpClient;
+        this.callMetrics = callMetrics;
+    }
+
     public String requestCompletion(String systemPrompt, String userPrompt) throws IOException {
-        OkHttpClient client = new OkHttpClient();
+        return requestCompletion(systemPrompt, userPrompt, Duration.ofSeconds(chatTimeoutSeconds));
+    }
 
+    public String requestCompletion(String systemPrompt, String userPrompt, Duration timeout) throws IOException {
         JSONObject json = new JSONObject()
                 .put("model", model)
                 .put("messages", List.of(
@@ -34,15 +55,30 @@ public class OpenAiClient {
                 ))
                 .put("temperature", 0.7);
 
+        RequestBody body = RequestBody.create(json.toString(), JSON);
+        return callMetrics.external("openai", "chat", () -> requestChatCompletion(body, timeout));
+    }
+
+    /**
+     * 이미 만들어진 chat/completions 요청 본문을 그대로 전송하고 message.content 를 반환
+     * - Vision 처럼 본문 구성이 다른 호출도 같은 커넥션 풀을 타도록 공개
+     */
+    public String requestChatCompletion(RequestBody body, Duration timeout) throws IOException {
         Request request = new Request.Builder()
                 .url(endpoint)
                 .addHeader("Authorization", "Bearer " + apiKey)
-                .post(RequestBody.create(json.toString(), MediaType.get("application/json")))
+                .post(body)
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            String body = response.body().string();
-            JSONObject result = new JSONObject(body);
+        Call call = httpClient.newCall(request);
+        call.timeout().timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try (Response response = call.execute()) {
+            String responseBody = response.body().string();
+            if (!response.isSuccessful()) {
+                throw new IOException("OpenAI 응답 코드 비정상: " + response.code() + " " + responseBody);
+            }
+            JSONObject result = new JSONObject(responseBody);
             return result.getJSONArray("choices")
                     .getJSONObject(0)
                     .getJSONObject("message")
@@ -50,4 +86,4 @@ public class OpenAiClient {
                     .trim();
         }
     }
-}
\ No newline at end of file
+}
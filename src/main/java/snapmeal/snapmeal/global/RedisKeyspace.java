@@ -0,0 +1,111 @@
+package snapmeal.snapmeal.global;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 캐시 키 공간 관리 (KEYS 대신)
+ * - 세대(epoch) 키: {namespace}:v{epoch}:{suffix}. 무효화는 cacheEpoch:{namespace} INCR 한 번
+ *   이전 세대 키는 더 이상 읽히지 않고 각자의 TTL 로 사라짐
+ * - epoch 은 노드마다 epoch-ttl 동안 메모리에 들고 있음 (다른 노드의 INCR 은 최대 그 시간 뒤에 반영)
+ * - scanUnlink: SCAN 커서로 조금씩 훑고 UNLINK(없으면 DEL) 로 지움. 좁은 패턴 정리용 (이전 세대 키 조기 정리 등)
+ */
+@Slf4j
+@Component
+public class RedisKeyspace {
+
+    private static final String EPOCH_PREFIX = "cacheEpoch:";
+
+    private record CachedEpoch(long epoch, long expiresAtMillis) {
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long epochTtlMillis;
+    private final int scanCount;
+
+    private final Map<String, CachedEpoch> epochs = new ConcurrentHashMap<>();
+
+    public RedisKeyspace(StringRedisTemplate stringRedisTemplate,
+                         @Value("${cache.epoch.local-ttl-millis:5000}") long epochTtlMillis,
+                         @Value("${cache.scan.count:500}") int scanCount) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.epochTtlMillis = epochTtlMillis;
+        this.scanCount = scanCount;
+    }
+
+    /** 현재 세대 키 */
+    public String key(String namespace, String suffix) {
+        return namespace + ":v" + epoch(namespace) + ":" + suffix;
+    }
+
+    /** 네임스페이스 전체 무효화. 새 세대 번호 반환 */
+    public long invalidate(String namespace) {
+        Long next = stringRedisTemplate.opsForValue().increment(EPOCH_PREFIX + namespace);
+        long epoch = next == null ? 0L : next;
+        epochs.put(namespace, new CachedEpoch(epoch, System.currentTimeMillis() + epochTtlMillis));
+        return epoch;
+    }
+
+    public long epoch(String namespace) {
+        CachedEpoch cached = epochs.get(namespace);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.epoch();
+        }
+        long epoch;
+        try {
+            String value = stringRedisTemplate.opsForValue().get(EPOCH_PREFIX + namespace);
+            epoch = value == null ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            // Redis 장애 시 마지막으로 본 세대 사용 (캐시 조회 자체도 실패하므로 결과에는 영향 없음)
+            log.warn("[RedisKeyspace] {} epoch 조회 실패: {}", namespace, e.getMessage());
+            return cached == null ? 0L : cached.epoch();
+        }
+        epochs.put(namespace, new CachedEpoch(epoch, now + epochTtlMillis));
+        return epoch;
+    }
+
+    /** 패턴에 맞는 키를 SCAN 으로 찾아 count 개씩 UNLINK. 지운 키 수 반환 */
+    public long scanUnlink(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(scanCount).build();
+        long removed = 0;
+        List<String> batch = new ArrayList<>(scanCount);
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= scanCount) {
+                    removed += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            removed += unlink(batch);
+        }
+        return removed;
+    }
+
+    /** 키 목록 비동기 삭제 (UNLINK 를 지원하지 않는 Redis 면 DEL) */
+    public long unlink(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        try {
+            Long removed = stringRedisTemplate.unlink(keys);
+            return removed == null ? 0L : removed;
+        } catch (Exception e) {
+            log.debug("[RedisKeyspace] UNLINK 실패, DEL 로 대체: {}", e.getMessage());
+            Long removed = stringRedisTemplate.delete(keys);
+            return removed == null ? 0L : removed;
+        }
+    }
+}
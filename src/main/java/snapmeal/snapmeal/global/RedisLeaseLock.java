@@ -0,0 +1,90 @@
+package snapmeal.snapmeal.global;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 리스 락 + 펜싱 토큰
+ * - 획득: 펜싱 카운터(jobLock:{name}:fence)를 INCR 해 토큰을 받고, SET NX PX 로 jobLock:{name} = "{owner}:{token}"
+ * - 연장/해제: 값이 내 것일 때만 Lua 로 PEXPIRE/DEL (다른 노드가 새로 잡은 락을 지우지 않음)
+ * - 연장에 실패하면 리스를 잃은 것 → 작업은 쓰기를 멈춰야 함 (GC 정지/네트워크 지연으로 만료된 경우)
+ * - 토큰은 단조 증가. 쓰기 쪽 확인은 job_fence 테이블로 (ClusterJobRunner.JobShard.fence())
+ */
+@Slf4j
+@Component
+public class RedisLeaseLock {
+
+    private static final String PREFIX = "jobLock:";
+
+    private static final RedisScript<Long> EXTEND = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('pexpire', KEYS[1], ARGV[2]) end return 0", Long.class);
+
+    // 남은 최소 보유 시간이 있으면 그만큼만 남기고, 없으면 삭제
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "if tonumber(ARGV[2]) > 0 then return redis.call('pexpire', KEYS[1], ARGV[2]) end "
+                    + "return redis.call('del', KEYS[1]) end return 0", Long.class);
+
+    /** 획득한 리스 */
+    public record Lease(String name, String owner, long token, long acquiredAtMillis) {
+
+        String key() {
+            return PREFIX + name;
+        }
+
+        String value() {
+            return owner + ":" + token;
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RedisLeaseLock(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /** 락을 잡으면 리스, 이미 다른 노드가 잡고 있으면 empty */
+    public Optional<Lease> tryAcquire(String name, String owner, Duration leaseTime) {
+        Long token = stringRedisTemplate.opsForValue().increment(PREFIX + name + ":fence");
+        if (token == null) {
+            return Optional.empty();
+        }
+        Lease lease = new Lease(name, owner, token, System.currentTimeMillis());
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(lease.key(), lease.value(), leaseTime);
+        return Boolean.TRUE.equals(acquired) ? Optional.of(lease) : Optional.empty();
+    }
+
+    /** 아직 내 리스면 만료를 leaseTime 으로 늘리고 true (펜싱 확인 겸용) */
+    public boolean extend(Lease lease, Duration leaseTime) {
+        try {
+            Long result = stringRedisTemplate.execute(EXTEND, List.of(lease.key()),
+                    lease.value(), String.valueOf(leaseTime.toMillis()));
+            return result != null && result == 1L;
+        } catch (Exception e) {
+            // Redis 에 닿지 않으면 보유 여부를 알 수 없으므로 잃은 것으로 취급
+            log.warn("[LeaseLock] {} 리스 연장 실패 (token={}): {}", lease.name(), lease.token(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 해제. 획득 후 minHold 가 지나지 않았으면 남은 시간만큼 락을 유지
+     * (노드 간 시계 차이로 같은 스케줄이 조금 늦게 뜬 노드가 곧바로 다시 잡는 것을 막음)
+     */
+    public void release(Lease lease, Duration minHold) {
+        long remaining = minHold.toMillis() - (System.currentTimeMillis() - lease.acquiredAtMillis());
+        try {
+            stringRedisTemplate.execute(RELEASE, List.of(lease.key()),
+                    lease.value(), String.valueOf(Math.max(0L, remaining)));
+        } catch (Exception e) {
+            log.warn("[LeaseLock] {} 해제 실패 (token={}), 만료로 풀림: {}", lease.name(), lease.token(), e.getMessage());
+        }
+    }
+}
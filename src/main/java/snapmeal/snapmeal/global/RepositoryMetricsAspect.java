@@ -0,0 +1,44 @@
+package snapmeal.snapmeal.global;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 직접 구현한 @Repository (Redis 기반 토큰 저장소 등) 메서드 타이머
+ * - JPA 리포지토리는 Spring Data 가 spring.data.repository.invocations 로 이미 기록하므로 여기서 제외
+ * - 태그 구성은 Spring Data 타이머와 같게: repository, method, state, exception
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    public static final String METRIC = "repository.redis.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(snapmeal.snapmeal.repository..*) && @within(org.springframework.stereotype.Repository)"
+            + " && !target(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "None";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("repository", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", "None".equals(exception) ? "SUCCESS" : "ERROR")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -39,6 +39,8 @@ public enum ErrorCode implements BaseErrorCode {
     //weekly report 관련 응답
     REPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "REPORT001", "주간 리포트를 찾을 수 없습니다."),
     AI_RESPONSE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AI001", "AI 응답 처리 중 오류가 발생했습니다."),
+    AI_GATEWAY_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "AI002", "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    AI_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "AI003", "AI 응답 대기 시간이 초과되었습니다."),
 
     RECOMMENDATION_GENERATION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "REC5000", "오늘의 추천 생성에 실패했습니다."),
     NUTRITION_DATA_NOT_FOUND(HttpStatus.NOT_FOUND, "NUTRITION4040", "오늘의 영양 데이터가 없습니다.");
@@ -4,7 +4,10 @@ import lombok.AllArgsConstructor;
 import org.apache.logging.log4j.Logger;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import snapmeal.snapmeal.config.security.UserPrincipal;
 import snapmeal.snapmeal.domain.User;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.handler.UserHandler;
@@ -15,8 +18,39 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
+    private final ObjectProvider<CurrentUserContext> currentUserContext;
 
+    // 요청 안이면 요청당 한 번만 조회해 CurrentUserContext 에 보관 (요청 밖이면 매번 조회)
     public User getCurrentUser() {
+        CurrentUserContext context = requestContext();
+        if (context != null && context.getUser() != null) {
+            return context.getUser();
+        }
+        User user = loadCurrentUser();
+        if (context != null) {
+            context.setUser(user);
+        }
+        return user;
+    }
+
+    /**
+     * id 만 필요한 경우(연관관계 FK, 조회 조건, 소유자 비교)용 참조
+     * - getReferenceById 는 SELECT 없이 프록시를 돌려줌 (id 외 필드에 접근할 때 처음 조회)
+     * - 이미 같은 요청에서 조회한 엔티티가 있으면 그대로 사용
+     */
+    public User getCurrentUserReference() {
+        CurrentUserContext context = requestContext();
+        if (context != null && context.getUser() != null) {
+            return context.getUser();
+        }
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    private CurrentUserContext requestContext() {
+        return RequestContextHolder.getRequestAttributes() == null ? null : currentUserContext.getIfAvailable();
+    }
+
+    private User loadCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
 
@@ -24,13 +58,24 @@ public class AuthService {
             throw new UserHandler(ErrorCode.AUTHENTICATION_FAILED);
         }
 
+        // JWT 인증이면 principal 에 id 가 있으므로 PK 조회 (같은 요청 안에서는 영속성 컨텍스트에서 재사용)
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return userRepository.findById(principal.getId())
+                    .orElseThrow(() -> new UserHandler(ErrorCode.USER_NOT_FOUND));
+        }
+
         String email = authentication.getName();
 
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserHandler(ErrorCode.USER_NOT_FOUND));
     }
 
+    // id 만 필요하면 DB 조회 없이 principal 에서
     public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
         return getCurrentUser().getId();
     }
 
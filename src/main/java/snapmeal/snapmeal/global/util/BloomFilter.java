@@ -0,0 +1,102 @@
+package snapmeal.snapmeal.global.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 블룸 필터 (스레드 안전, 삭제 없음)
+ * - mightContain 이 false 면 확실히 없음, true 면 "있을 수도 있음"
+ * - 비트 수/해시 수는 예상 원소 수와 목표 오탐률로 계산
+ * - 해시는 64비트 FNV-1a + fmix64 한 번으로 두 값을 만들어 k 개로 확장 (Kirsch–Mitzenmacher)
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 비트 배열 크기 (바이트) */
+    public long sizeInBytes() {
+        return bitSize / 8;
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /** 현재 채워진 비트 비율로 계산한 오탐률 추정치 */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitSize, hashCount);
+    }
+
+    private long index(int combined) {
+        // 음수면 비트 반전 (Guava 와 같은 방식)
+        return (combined < 0 ? ~combined : combined) % bitSize;
+    }
+
+    private void setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long old = words.get(word);
+            if ((old & mask) != 0) {
+                return;
+            }
+            if (words.compareAndSet(word, old, old | mask)) {
+                setBits.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        // fmix64 (MurmurHash3) 로 비트 섞기
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e87d3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
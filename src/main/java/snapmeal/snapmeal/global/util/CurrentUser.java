@@ -0,0 +1,16 @@
+package snapmeal.snapmeal.global.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 파라미터에 현재 로그인 사용자 주입 (CurrentUserArgumentResolver)
+ * - Long: 사용자 id (DB 조회 없음)
+ * - User: 요청 단위로 한 번 조회한 사용자 엔티티
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
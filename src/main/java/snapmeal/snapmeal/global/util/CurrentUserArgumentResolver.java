@@ -0,0 +1,35 @@
+package snapmeal.snapmeal.global.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import snapmeal.snapmeal.domain.User;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final AuthService authService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return Long.class.equals(type) || User.class.equals(type);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        if (Long.class.equals(parameter.getParameterType())) {
+            return authService.getCurrentUserId();
+        }
+        return authService.getCurrentUser();
+    }
+}
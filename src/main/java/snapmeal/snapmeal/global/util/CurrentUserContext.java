@@ -0,0 +1,25 @@
+package snapmeal.snapmeal.global.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import snapmeal.snapmeal.domain.User;
+
+/**
+ * 요청 단위 현재 사용자 보관소 (AuthService 가 요청당 한 번만 채움)
+ * - 같은 요청에서 여러 서비스가 getCurrentUser() 를 불러도 사용자 조회는 한 번
+ * - open-in-view 로 요청 동안 영속성 컨텍스트가 유지되므로 보관한 엔티티도 그 요청 안에서는 managed 상태
+ */
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    private User user;
+
+    public User getUser() {
+        return user;
+    }
+
+    void setUser(User user) {
+        this.user = user;
+    }
+}
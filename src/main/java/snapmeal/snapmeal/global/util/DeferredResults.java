@@ -0,0 +1,43 @@
+package snapmeal.snapmeal.global.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import org.springframework.web.context.request.async.DeferredResult;
+import snapmeal.snapmeal.global.code.ErrorCode;
+import snapmeal.snapmeal.global.handler.GeneralException;
+
+/**
+ * CompletableFuture → DeferredResult 변환 유틸
+ * - 컨트롤러가 DeferredResult 를 반환하면 서블릿 스레드는 바로 반납되고,
+ *   future 가 끝나는 시점에 응답이 작성됨
+ * - 타임아웃은 spring.mvc.async.request-timeout 을 따르고, 초과 시 AI_TIMEOUT 으로 응답
+ * - 예외는 CompletionException 을 벗겨서 넘기므로 ExceptionAdvice 가 그대로 처리
+ */
+public final class DeferredResults {
+
+    private DeferredResults() {
+    }
+
+    public static <T> DeferredResult<T> of(CompletableFuture<T> future) {
+        DeferredResult<T> result = new DeferredResult<>();
+        result.onTimeout(() -> result.setErrorResult(new GeneralException(ErrorCode.AI_TIMEOUT)));
+        future.whenComplete((value, ex) -> {
+            if (ex != null) {
+                result.setErrorResult(unwrap(ex));
+            } else {
+                result.setResult(value);
+            }
+        });
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,221 @@
+package snapmeal.snapmeal.global.util;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 업로드 이미지 전처리 (S3 / FastAPI / OpenAI Vision 공통)
+ * - EXIF 방향을 픽셀에 반영하고, 긴 변을 max-dimension 이하로 줄인 뒤 JPEG 로 재인코딩
+ * - 디코딩 시 서브샘플링으로 원본 해상도 전체를 메모리에 올리지 않음
+ * - 결과는 재사용 버퍼 풀에 담아 getBytes()/Base64 문자열 복사를 피함
+ * - 이미 작고 방향 보정이 필요 없는 JPEG 이거나, 디코딩할 수 없는 형식(HEIC 등)은 원본 그대로 사용
+ */
+@Slf4j
+@Component
+public class ImagePreprocessor {
+
+    private static final String JPEG = "image/jpeg";
+
+    private final int maxDimension;
+    private final float jpegQuality;
+    private final long passthroughBytes;
+    private final int maxPooledBufferBytes;
+    private final BlockingQueue<PooledBuffer> pool;
+
+    public ImagePreprocessor(@Value("${spring.image.max-dimension:2048}") int maxDimension,
+                             @Value("${spring.image.jpeg-quality:0.85}") float jpegQuality,
+                             @Value("${spring.image.passthrough-bytes:524288}") long passthroughBytes,
+                             @Value("${spring.image.buffer-pool-size:16}") int bufferPoolSize,
+                             @Value("${spring.image.max-pooled-buffer-bytes:4194304}") int maxPooledBufferBytes) {
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+        this.passthroughBytes = passthroughBytes;
+        this.maxPooledBufferBytes = maxPooledBufferBytes;
+        this.pool = new ArrayBlockingQueue<>(bufferPoolSize);
+        // 디코딩 중 임시파일 캐시를 만들지 않음
+        ImageIO.setUseCache(false);
+    }
+
+    public ProcessedImage process(MultipartFile file) throws IOException {
+        String contentType = file.getContentType();
+        if (contentType == null || contentType.isBlank()) {
+            contentType = JPEG;
+        }
+
+        int orientation = readOrientation(file);
+
+        try (InputStream in = file.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                log.info("[ImagePreprocessor] 디코딩할 수 없는 형식 → 원본 사용: {}", contentType);
+                return ProcessedImage.original(file, contentType);
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longSide = Math.max(width, height);
+
+                boolean small = longSide <= maxDimension && file.getSize() <= passthroughBytes;
+                if (small && orientation == 1 && JPEG.equals(contentType)) {
+                    return ProcessedImage.original(file, contentType);
+                }
+
+                // 목표 크기의 2배 미만이 되도록 건너뛰며 읽고, 나머지는 보간으로 축소
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longSide / maxDimension);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                BufferedImage output = resizeAndOrient(decoded, orientation);
+                PooledBuffer buffer = borrow();
+                try {
+                    writeJpeg(output, buffer);
+                } catch (IOException | RuntimeException e) {
+                    buffer.release();
+                    throw e;
+                }
+
+                log.debug("[ImagePreprocessor] {}x{} ({} bytes) → {}x{} ({} bytes)",
+                        width, height, file.getSize(), output.getWidth(), output.getHeight(), buffer.size());
+                return ProcessedImage.encoded(buffer, toJpegFilename(file.getOriginalFilename()), JPEG);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.warn("[ImagePreprocessor] 전처리 실패 → 원본 사용: {}", e.getMessage());
+            return ProcessedImage.original(file, contentType);
+        }
+    }
+
+    private int readOrientation(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            Metadata metadata = ImageMetadataReader.readMetadata(in);
+            ExifIFD0Directory exif = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+            if (exif != null && exif.containsTag(ExifIFD0Directory.TAG_ORIENTATION)) {
+                return exif.getInt(ExifIFD0Directory.TAG_ORIENTATION);
+            }
+        } catch (Exception e) {
+            log.debug("[ImagePreprocessor] EXIF 읽기 실패: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    // 축소와 방향 보정을 한 번의 그리기로 처리
+    private BufferedImage resizeAndOrient(BufferedImage source, int orientation) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int w = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean swap = orientation >= 5 && orientation <= 8;
+
+        AffineTransform orient = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 반시계 90도
+            default -> new AffineTransform();
+        };
+
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // 투명 배경(PNG)은 흰색으로
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.transform(orient);
+            g.drawImage(source, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, PooledBuffer buffer) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String toJpegFilename(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "image.jpg";
+        }
+        int dot = filename.lastIndexOf('.');
+        return (dot > 0 ? filename.substring(0, dot) : filename) + ".jpg";
+    }
+
+    private PooledBuffer borrow() {
+        PooledBuffer buffer = pool.poll();
+        return buffer != null ? buffer : new PooledBuffer(this);
+    }
+
+    private void giveBack(PooledBuffer buffer) {
+        // 너무 커진 버퍼는 풀에 두지 않고 GC 에 맡김
+        if (buffer.capacity() <= maxPooledBufferBytes) {
+            buffer.reset();
+            pool.offer(buffer);
+        }
+    }
+
+    /** 내부 배열을 복사 없이 노출하는 재사용 버퍼 */
+    static final class PooledBuffer extends ByteArrayOutputStream {
+
+        private final ImagePreprocessor owner;
+
+        private PooledBuffer(ImagePreprocessor owner) {
+            super(256 * 1024);
+            this.owner = owner;
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        void release() {
+            owner.giveBack(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package snapmeal.snapmeal.global.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * ImagePreprocessor 결과
+ * - 재인코딩된 경우 풀에서 빌린 버퍼를, 원본 그대로 쓰는 경우 MultipartFile 을 감쌈
+ * - openStream() 은 호출할 때마다 새 스트림을 돌려주므로 S3/FastAPI/Vision 이 동시에 읽어도 됨
+ * - 버퍼는 close() 이후 열린 스트림이 모두 닫혀야 풀로 반납 (취소된 작업이 아직 읽고 있어도 안전)
+ */
+public final class ProcessedImage implements AutoCloseable {
+
+    private final MultipartFile source;
+    private final ImagePreprocessor.PooledBuffer buffer;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ProcessedImage(MultipartFile source, ImagePreprocessor.PooledBuffer buffer,
+                           String filename, String contentType, long size) {
+        this.source = source;
+        this.buffer = buffer;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    static ProcessedImage original(MultipartFile file, String contentType) {
+        return new ProcessedImage(file, null, file.getOriginalFilename(), contentType, file.getSize());
+    }
+
+    static ProcessedImage encoded(ImagePreprocessor.PooledBuffer buffer, String filename, String contentType) {
+        return new ProcessedImage(null, buffer, filename, contentType, buffer.size());
+    }
+
+    public InputStream openStream() throws IOException {
+        if (buffer == null) {
+            return source.getInputStream();
+        }
+        if (closed.get()) {
+            throw new IllegalStateException("이미 닫힌 이미지입니다.");
+        }
+        refCount.incrementAndGet();
+        return new FilterInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.size())) {
+            private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+            @Override
+            public void close() throws IOException {
+                if (streamClosed.compareAndSet(false, true)) {
+                    super.close();
+                    release();
+                }
+            }
+        };
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /** 원본을 그대로 쓰는지 (재인코딩 생략) */
+    public boolean isOriginal() {
+        return buffer == null;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (buffer != null && refCount.decrementAndGet() == 0) {
+            buffer.release();
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package snapmeal.snapmeal.global.util;
 
 import org.springframework.stereotype.Component;
-import snapmeal.snapmeal.domain.NutritionAnalysis;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
 
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Component
 public class WeeklyReportPromptBuilder {
 
-    public String buildWeeklyReportPrompt(List<NutritionAnalysis> list, float totalCal, float totalCarb) {
+    // days: 날짜별 합계 (DB 에서 날짜로 묶어 집계한 값, 기록 없는 날은 빠져 있음)
+    public String buildWeeklyReportPrompt(List<DailyNutritionTotalsDto> days, float totalCal, float totalCarb) {
         return String.format("""
             아래는 사용자의 일주일간 식단 정보입니다.
             총 칼로리: %.1f kcal, 총 탄수화물: %.1f g
@@ -35,10 +38,12 @@ public class WeeklyReportPromptBuilder {
             }
             """,
                 totalCal, totalCarb,
-                list.stream()
-                        .map(n -> "- " + n.getFoodNames() + ": " + n.getCalories() + "kcal")
+                days.stream()
+                        .map(d -> String.format("- %s(%s): %d끼, %dkcal, 탄수화물 %.1fg, 단백질 %.1fg, 지방 %.1fg, 당 %.1fg",
+                                d.getMealDate(),
+                                d.getMealDate().getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.KOREAN),
+                                d.getMealCount(), d.getCalories(), d.getCarbs(), d.getProtein(), d.getFat(), d.getSugar()))
                         .collect(Collectors.joining("\n"))
         );
     }
 }
-
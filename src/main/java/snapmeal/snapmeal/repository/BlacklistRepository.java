@@ -1,32 +1,60 @@
 package snapmeal.snapmeal.repository;
 
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Repository;
-import snapmeal.snapmeal.config.security.JwtTokenProvider;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 로그아웃/탈퇴로 폐기된 access token 저장소
+ * - revokedJti:{jti} (TTL = 토큰 남은 수명). 키가 토큰 전체가 아니라 jti 라 짧음
+ * - 폐기 시 tokenRevocations 채널로 jti 를 발행 → 각 노드의 TokenRevocationIndex 가 로컬 블룸 필터에 반영
+ * - blacklist:{token} 은 jti 가 없던 예전 토큰용 (최대 토큰 수명 동안만 필요)
+ */
 @Repository
 public class BlacklistRepository {
+
+    public static final String REVOCATION_CHANNEL = "tokenRevocations";
+
+    private static final String JTI_PREFIX = "revokedJti:";
+    private static final String LEGACY_PREFIX = "blacklist:";
+
     private final StringRedisTemplate redisTemplate;
-    private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
 
-    public BlacklistRepository(StringRedisTemplate redisTemplate, UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    public BlacklistRepository(StringRedisTemplate redisTemplate) {
         this.redisTemplate = redisTemplate;
-        this.userRepository = userRepository;
-        this.jwtTokenProvider = jwtTokenProvider;
     }
 
+    public void revokeJti(String jti, long expirationTime) {
+        redisTemplate.opsForValue().set(JTI_PREFIX + jti, "1", expirationTime, TimeUnit.MILLISECONDS);
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, jti);
+    }
+
+    public boolean isJtiRevoked(String jti) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(JTI_PREFIX + jti));
+    }
 
+    // 폐기된 jti 전체 순회 (블룸 필터 재구성용, SCAN)
+    public void forEachRevokedJti(int scanCount, Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(JTI_PREFIX + "*").count(scanCount).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                consumer.accept(cursor.next().substring(JTI_PREFIX.length()));
+            }
+        }
+    }
 
     public void addToBlacklist(String accessToken, long expirationTime) {
-        String key = "blacklist:" + accessToken;
+        String key = LEGACY_PREFIX + accessToken;
         redisTemplate.opsForValue().set(key, "blacklisted", expirationTime, TimeUnit.MILLISECONDS);
     }
 
     // 블랙리스트 확인
     public boolean isBlacklisted(String accessToken) {
-        String key = "blacklist:" + accessToken;
+        String key = LEGACY_PREFIX + accessToken;
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 // ChallengeRepository.java
 package snapmeal.snapmeal.repository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import snapmeal.snapmeal.domain.User;
 import snapmeal.snapmeal.domain.Challenges;
 import snapmeal.snapmeal.domain.enums.ChallengeStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,56 @@ public interface ChallengeRepository extends JpaRepository<Challenges, Long> {
 
     List<Challenges> findAllByUserAndStartDateGreaterThanEqualAndEndDateLessThanEqual(User user, LocalDate start, LocalDate end);
 
+    // 식단 날짜가 기간에 걸친 진행 중 챌린지 (스탬프 비트맵 증분 갱신용)
+    List<Challenges> findAllByUserAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            User user, List<ChallengeStatus> statuses, LocalDate date1, LocalDate date2);
+
+    // 판정 대상 challengeId 키셋 페이지 (ChallengeEvaluationJob). challengeId % shards == shard 인 것만
+    @Query("select c.challengeId from Challenges c "
+            + "where c.status in :statuses and c.endDate <= :endDate and c.challengeId > :afterId "
+            + "and mod(c.challengeId, :shards) = :shard "
+            + "order by c.challengeId")
+    List<Long> findEvaluationTargetIds(@Param("statuses") List<ChallengeStatus> statuses,
+                                       @Param("endDate") LocalDate endDate,
+                                       @Param("afterId") Long afterId,
+                                       @Param("shards") int shards,
+                                       @Param("shard") int shard,
+                                       Pageable pageable);
+
+    // 이번 주 챌린지가 이미 있는 사용자 (배치 생성 시 건너뛰기)
+    @Query("select distinct c.user.id from Challenges c "
+            + "where c.user.id in :userIds and c.startDate >= :start and c.endDate <= :end")
+    List<Long> findUserIdsWithChallengesBetween(@Param("userIds") Collection<Long> userIds,
+                                                @Param("start") LocalDate start,
+                                                @Param("end") LocalDate end);
+
+    // 사용자별 기간 내 챌린지 메뉴 (배치 생성 시 지난주 메뉴 가중치 낮추기)
+    @Query("select c.user.id as userId, c.targetMenuName as targetMenuName from Challenges c "
+            + "where c.user.id in :userIds and c.startDate >= :start and c.endDate <= :end")
+    List<UserMenuView> findMenusByUsersBetween(@Param("userIds") Collection<Long> userIds,
+                                               @Param("start") LocalDate start,
+                                               @Param("end") LocalDate end);
+
+    // 스탬프 비트맵 원자적 갱신: 해당 컬럼만 DB 에서 OR/AND (상태 등 다른 컬럼, 동시에 바뀐 다른 비트는 그대로)
+    // 비트 63 이 켜지면 부호 없는 결과가 되므로 SIGNED 로 되돌림. 아직 계산 전(null)이면 건드리지 않음
+    @Modifying
+    @Query(value = "UPDATE challenges SET menu_day_bits = CAST(menu_day_bits | :bit AS SIGNED) "
+            + "WHERE challenge_id = :challengeId AND menu_day_bits IS NOT NULL", nativeQuery = true)
+    int setMenuDayBit(@Param("challengeId") Long challengeId, @Param("bit") long bit);
+
+    @Modifying
+    @Query(value = "UPDATE challenges SET menu_day_bits = CAST(menu_day_bits & ~:bit AS SIGNED) "
+            + "WHERE challenge_id = :challengeId AND menu_day_bits IS NOT NULL", nativeQuery = true)
+    int clearMenuDayBit(@Param("challengeId") Long challengeId, @Param("bit") long bit);
+
+    // 전체 재계산 결과로 비트맵 컬럼만 교체 (생성 직후/백필)
+    @Modifying
+    @Query(value = "UPDATE challenges SET menu_day_bits = :bits WHERE challenge_id = :challengeId", nativeQuery = true)
+    int updateMenuDayBits(@Param("challengeId") Long challengeId, @Param("bits") long bits);
+
+    // challengeId 키셋 페이지 (백필/배치용)
+    List<Challenges> findAllByChallengeIdGreaterThanOrderByChallengeIdAsc(Long afterId, Pageable pageable);
+
     Optional<Challenges> findByChallengeIdAndUser(Long challengeId, User user);
 
     boolean existsByUserAndStartDateGreaterThanEqualAndEndDateLessThanEqual(User user, LocalDate start, LocalDate end);
@@ -30,4 +85,9 @@ public interface ChallengeRepository extends JpaRepository<Challenges, Long> {
 
     List<Challenges> findAllByUser(User user);
 
+
+    interface UserMenuView {
+        Long getUserId();
+        String getTargetMenuName();
+    }
 }
@@ -0,0 +1,65 @@
+package snapmeal.snapmeal.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import snapmeal.snapmeal.domain.DailyNutritionTotals;
+
+public interface DailyNutritionTotalsRepository extends JpaRepository<DailyNutritionTotals, Long> {
+
+    Optional<DailyNutritionTotals> findByUserIdAndMealDate(Long userId, LocalDate mealDate);
+
+    List<DailyNutritionTotals> findAllByMealDateGreaterThanEqualAndMealDateLessThan(LocalDate start, LocalDate end);
+
+    // 증감분 반영 (행이 없으면 증감분으로 새로 생성)
+    @Modifying
+    @Query(value = """
+    INSERT INTO daily_nutrition_totals
+        (user_id, meal_date, calories, protein, carbs, sugar, fat, sodium, meal_count, updated_at)
+    VALUES (:userId, :mealDate, :calories, :protein, :carbs, :sugar, :fat, :sodium, :mealCount, NOW())
+    ON DUPLICATE KEY UPDATE
+        calories   = calories   + VALUES(calories),
+        protein    = protein    + VALUES(protein),
+        carbs      = carbs      + VALUES(carbs),
+        sugar      = sugar      + VALUES(sugar),
+        fat        = fat        + VALUES(fat),
+        sodium     = sodium     + VALUES(sodium),
+        meal_count = meal_count + VALUES(meal_count),
+        updated_at = NOW()
+""", nativeQuery = true)
+    void addDelta(@Param("userId") Long userId, @Param("mealDate") LocalDate mealDate,
+                  @Param("calories") long calories, @Param("protein") double protein,
+                  @Param("carbs") double carbs, @Param("sugar") double sugar,
+                  @Param("fat") double fat, @Param("sodium") double sodium,
+                  @Param("mealCount") long mealCount);
+
+    // 원본 집계값으로 덮어쓰기 (최초 조회 시 채우기 / 재계산)
+    @Modifying
+    @Query(value = """
+    INSERT INTO daily_nutrition_totals
+        (user_id, meal_date, calories, protein, carbs, sugar, fat, sodium, meal_count, updated_at)
+    VALUES (:userId, :mealDate, :calories, :protein, :carbs, :sugar, :fat, :sodium, :mealCount, NOW())
+    ON DUPLICATE KEY UPDATE
+        calories   = VALUES(calories),
+        protein    = VALUES(protein),
+        carbs      = VALUES(carbs),
+        sugar      = VALUES(sugar),
+        fat        = VALUES(fat),
+        sodium     = VALUES(sodium),
+        meal_count = VALUES(meal_count),
+        updated_at = NOW()
+""", nativeQuery = true)
+    void overwrite(@Param("userId") Long userId, @Param("mealDate") LocalDate mealDate,
+                   @Param("calories") long calories, @Param("protein") double protein,
+                   @Param("carbs") double carbs, @Param("sugar") double sugar,
+                   @Param("fat") double fat, @Param("sodium") double sodium,
+                   @Param("mealCount") long mealCount);
+
+    @Modifying
+    @Query("DELETE FROM DailyNutritionTotals t WHERE t.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+}
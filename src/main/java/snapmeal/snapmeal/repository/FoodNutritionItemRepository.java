@@ -0,0 +1,10 @@
+package snapmeal.snapmeal.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import snapmeal.snapmeal.domain.FoodNutritionItem;
+
+public interface FoodNutritionItemRepository extends JpaRepository<FoodNutritionItem, Long> {
+    List<FoodNutritionItem> findAllByFoodCodeIn(Collection<String> foodCodes);
+}
@@ -0,0 +1,25 @@
+package snapmeal.snapmeal.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import snapmeal.snapmeal.domain.JobFence;
+
+public interface JobFenceRepository extends JpaRepository<JobFence, String> {
+
+    // 샤드 시작 시 토큰을 올림 (작아지지 않음). 진행 중인 이전 보유자의 쓰기 트랜잭션이 끝날 때까지 기다림
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT INTO job_fence (lock_name, token, updated_at) VALUES (:lockName, :token, NOW())
+    ON DUPLICATE KEY UPDATE token = GREATEST(token, VALUES(token)), updated_at = NOW()
+    """, nativeQuery = true)
+    int advance(@Param("lockName") String lockName, @Param("token") long token);
+
+    // 쓰기 트랜잭션 안에서 호출: 공유 락으로 읽어 커밋까지 advance 를 막음 (같은 토큰의 쓰기끼리는 동시에 진행)
+    @Query(value = "SELECT token FROM job_fence WHERE lock_name = :lockName FOR SHARE", nativeQuery = true)
+    Optional<Long> findTokenForShare(@Param("lockName") String lockName);
+}
@@ -0,0 +1,45 @@
+package snapmeal.snapmeal.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import snapmeal.snapmeal.domain.MealMenuTag;
+
+public interface MealMenuTagRepository extends JpaRepository<MealMenuTag, Long> {
+
+    // 챌린지 기간 [start, end) 동안 표준 메뉴를 기록한 시각 (인덱스: user_id, canonical_menu, meal_date)
+    @Query("select t.mealDate as mealDate, t.canonicalMenu as canonicalMenu from MealMenuTag t "
+            + "where t.userId = :userId and t.canonicalMenu in :menus "
+            + "and t.mealDate >= :start and t.mealDate < :end")
+    List<TagView> findTags(@Param("userId") Long userId,
+                           @Param("menus") Collection<String> menus,
+                           @Param("start") LocalDateTime start,
+                           @Param("end") LocalDateTime end);
+
+    // 하루 판정용. 삭제 중인 식단은 제외
+    @Query("select count(t) > 0 from MealMenuTag t "
+            + "where t.userId = :userId and t.canonicalMenu = :menu "
+            + "and t.mealDate >= :start and t.mealDate < :end and t.mealId <> :excludedMealId")
+    boolean existsTag(@Param("userId") Long userId,
+                      @Param("menu") String menu,
+                      @Param("start") LocalDateTime start,
+                      @Param("end") LocalDateTime end,
+                      @Param("excludedMealId") Long excludedMealId);
+
+    @Modifying
+    @Query("delete from MealMenuTag t where t.mealId = :mealId")
+    void deleteAllByMealId(@Param("mealId") Long mealId);
+
+    @Modifying
+    @Query("delete from MealMenuTag t where t.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+    interface TagView {
+        LocalDateTime getMealDate();
+        String getCanonicalMenu();
+    }
+}
@@ -1,22 +1,40 @@
 package snapmeal.snapmeal.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import snapmeal.snapmeal.domain.Meals;
 import snapmeal.snapmeal.domain.User;
 
 public interface MealsRepository extends JpaRepository<Meals, Long> {
     List<Meals> findAllByUser(User user);
 
-    boolean existsByUserAndMealDateBetweenAndMenuContainingIgnoreCase(
-            snapmeal.snapmeal.domain.User user,
-            java.time.LocalDateTime startInclusive,
-            java.time.LocalDateTime endInclusive,
-            String targetKeyword
-    );
+    // 챌린지 스탬프 계산용: 기간 [start, end) 의 식사 시각/메뉴만 한 번에 조회
+    List<MealMenuView> findAllByUserAndMealDateGreaterThanEqualAndMealDateLessThan(
+            User user, LocalDateTime start, LocalDateTime end);
+
+    // 기간 [start, end) 에 식단 기록이 있는 사용자 (배치 생성 시 스탬프 비트맵 초기값 결정)
+    @Query("select distinct m.user.id from Meals m "
+            + "where m.user.id in :userIds and m.mealDate >= :start and m.mealDate < :end")
+    List<Long> findUserIdsWithMealsBetween(@Param("userIds") Collection<Long> userIds,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end);
+
+    // mealId 키셋 페이지 (메뉴 태그 백필용)
+    List<Meals> findAllByMealIdGreaterThanOrderByMealIdAsc(Long afterId, Pageable pageable);
+
     List<Meals> findAllByUserAndCreatedAtBetween(User user, LocalDateTime start, LocalDateTime end);
 
-    List<Meals> findAllByUserOrderByMealDateDesc(User user);
+    List<Meals> findAllByUser_IdOrderByMealDateDesc(Long userId);
     void deleteAllByUser(User user);
-}
\ No newline at end of file
+
+    interface MealMenuView {
+        Long getMealId();
+        LocalDateTime getMealDate();
+        String getMenu();
+    }
+}
@@ -1,25 +1,54 @@
 package snapmeal.snapmeal.repository;
 
-import java.time.LocalDate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import snapmeal.snapmeal.domain.NutritionAnalysis;
 import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NutritionAnalysisRepository extends JpaRepository<NutritionAnalysis, Long> {
-    List<NutritionAnalysis> findAllByUserAndCreatedAtBetween(User user, LocalDateTime start, LocalDateTime end);
     void deleteAllByUser(User user);
+
+    // 사용자/날짜별 영양 합계 (식단에 연결된 분석만). DailyNutritionTotals 채우기/재계산용
+    @Query("""
+    SELECT new snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto(
+        m.user.id, cast(m.mealDate as LocalDate),
+        SUM(n.calories), SUM(n.protein), SUM(n.carbs), SUM(n.sugar), SUM(n.fat), SUM(n.sodium), COUNT(m))
+    FROM Meals m JOIN m.nutrition n
+    WHERE m.mealDate >= :start AND m.mealDate < :end
+    GROUP BY m.user.id, cast(m.mealDate as LocalDate)
+""")
+    List<DailyNutritionTotalsDto> sumDailyTotals(@Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
     @Query("""
-    SELECT n FROM NutritionAnalysis n
-    JOIN Meals m ON n.id = m.nutrition.id
-    WHERE n.user = :user
-      AND DATE(m.mealDate) = :today
+    SELECT new snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto(
+        m.user.id, cast(m.mealDate as LocalDate),
+        SUM(n.calories), SUM(n.protein), SUM(n.carbs), SUM(n.sugar), SUM(n.fat), SUM(n.sodium), COUNT(m))
+    FROM Meals m JOIN m.nutrition n
+    WHERE m.user.id = :userId AND m.mealDate >= :start AND m.mealDate < :end
+    GROUP BY m.user.id, cast(m.mealDate as LocalDate)
 """)
-    List<NutritionAnalysis> findTodayRecords(@Param("user") User user,
-                                             @Param("today") LocalDate today);
+    List<DailyNutritionTotalsDto> sumDailyTotalsByUser(@Param("userId") Long userId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
 
+    // 여러 사용자의 날짜별 합계를 한 번에 (주간 리포트 프롬프트용, foodNames 등 엔티티를 읽지 않음)
+    @Query("""
+    SELECT new snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto(
+        m.user.id, cast(m.mealDate as LocalDate),
+        SUM(n.calories), SUM(n.protein), SUM(n.carbs), SUM(n.sugar), SUM(n.fat), SUM(n.sodium), COUNT(m))
+    FROM Meals m JOIN m.nutrition n
+    WHERE m.user.id IN :userIds AND m.mealDate >= :start AND m.mealDate < :end
+    GROUP BY m.user.id, cast(m.mealDate as LocalDate)
+    ORDER BY m.user.id, cast(m.mealDate as LocalDate)
+""")
+    List<DailyNutritionTotalsDto> sumDailyTotalsByUsers(@Param("userIds") Collection<Long> userIds,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end);
 }
@@ -1,13 +1,49 @@
 package snapmeal.snapmeal.repository;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Refresh Token 저장소
+ * - refreshToken:{token} = userId (TTL = 토큰 수명)
+ * - refreshTokens:byUser:{userId} = ZSET(token, 만료 시각 millis). 사용자별 조회/전체 폐기를 그 사용자 토큰 수만큼만
+ * - 두 키는 Lua 스크립트로 함께 쓰고 지움 (중간 상태가 보이지 않음). 만료된 멤버는 저장할 때 정리
+ * - 스크립트 안에서 토큰 키 이름을 만들어 쓰므로 단일 Redis(standalone) 전제
+ * - 사용자별 역색인은 이 ZSET 하나뿐. 역색인 도입 전에 발급된 토큰은 색인에 없고 TTL 로 만료됨
+ */
 @Repository
 public class RefreshTokenRepository {
 
+    private static final String TOKEN_PREFIX = "refreshToken:";
+    private static final String USER_INDEX_PREFIX = "refreshTokens:byUser:";
+
+    // KEYS: 토큰 키, 사용자 ZSET / ARGV: userId, token, ttlMillis, nowMillis
+    private static final RedisScript<Long> SAVE = new DefaultRedisScript<>(
+            "redis.call('set', KEYS[1], ARGV[1], 'px', ARGV[3]) "
+                    + "redis.call('zremrangebyscore', KEYS[2], '-inf', ARGV[4]) "
+                    + "redis.call('zadd', KEYS[2], tonumber(ARGV[4]) + tonumber(ARGV[3]), ARGV[2]) "
+                    + "if redis.call('pttl', KEYS[2]) < tonumber(ARGV[3]) then "
+                    + "redis.call('pexpire', KEYS[2], ARGV[3]) end "
+                    + "return 1", Long.class);
+
+    // KEYS: 토큰 키, 사용자 ZSET / ARGV: token
+    private static final RedisScript<Long> DELETE = new DefaultRedisScript<>(
+            "redis.call('zrem', KEYS[2], ARGV[1]) "
+                    + "return redis.call('del', KEYS[1])", Long.class);
+
+    // KEYS: 사용자 ZSET / ARGV: 토큰 키 prefix. 지운 토큰 수 반환
+    private static final RedisScript<Long> DELETE_ALL = new DefaultRedisScript<>(
+            "local n = 0 "
+                    + "for _, t in ipairs(redis.call('zrange', KEYS[1], 0, -1)) do "
+                    + "n = n + redis.call('del', ARGV[1] .. t) end "
+                    + "redis.call('del', KEYS[1]) "
+                    + "return n", Long.class);
+
     private final StringRedisTemplate redisTemplate;
 
     @Autowired
@@ -16,57 +52,60 @@ public class RefreshTokenRepository {
     }
 
 
+    // 사용자의 가장 늦게 만료되는 (= 가장 최근에 발급된) 유효 토큰
     public String getRefreshToken(Long userId) {
-        String key = "refreshToken:" + userId;
-        return redisTemplate.opsForValue().get(key);
+        Set<String> latest = redisTemplate.opsForZSet().reverseRangeByScore(
+                userIndexKey(userId), System.currentTimeMillis(), Double.POSITIVE_INFINITY, 0, 1);
+        return latest == null || latest.isEmpty() ? null : latest.iterator().next();
     }
 
     public void deleteTokenByUserId(Long userId) {
-        String key = "refreshToken:" + userId;
-        redisTemplate.delete(key);
+        deleteAllTokensByUserId(userId);
     }
 
     public boolean existsByUserId(Long userId) {
-        String key = "refreshToken:" + userId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        Long count = redisTemplate.opsForZSet().count(
+                userIndexKey(userId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return count != null && count > 0;
     }
 
     public void saveToken(Long userId, String refreshToken, long expirationTime) {
-        String key = "refreshToken:" + refreshToken; //
-        redisTemplate.opsForValue().set(key, userId.toString(), expirationTime / 1000, TimeUnit.SECONDS);
+        if (expirationTime <= 0) {
+            return;
+        }
+        redisTemplate.execute(SAVE, List.of(TOKEN_PREFIX + refreshToken, userIndexKey(userId)),
+                userId.toString(), refreshToken, String.valueOf(expirationTime),
+                String.valueOf(System.currentTimeMillis()));
     }
 
     // Refresh Token으로 userId 가져오기
     public Long getUserIdByToken(String refreshToken) {
-        String key = "refreshToken:" + refreshToken;
+        String key = TOKEN_PREFIX + refreshToken;
         String userIdStr = redisTemplate.opsForValue().get(key);
         return userIdStr != null ? Long.parseLong(userIdStr) : null;
     }
 
-    // Refresh Token 삭제
+    // Refresh Token 삭제 (토큰 키 + 사용자 역색인 함께)
     public void deleteToken(String refreshToken) {
-        String key = "refreshToken:" + refreshToken;
-        redisTemplate.delete(key);
+        Long userId = getUserIdByToken(refreshToken);
+        if (userId == null) {
+            return;  // 이미 만료/삭제됨. 역색인에 남은 멤버는 다음 저장 때 정리
+        }
+        redisTemplate.execute(DELETE,
+                List.of(TOKEN_PREFIX + refreshToken, userIndexKey(userId)), refreshToken);
     }
 
     public boolean existsByToken(String refreshToken) {
-        String key = "refreshToken:" + refreshToken;
+        String key = TOKEN_PREFIX + refreshToken;
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
-    public void deleteAllTokensByUserId(Long userId) {
-        String pattern = "refreshToken:*";
-        String target = String.valueOf(userId);
 
-        var keys = redisTemplate.keys(pattern);
-        if (keys == null || keys.isEmpty()) {
-            return;
-        }
+    // 사용자 토큰 전체 삭제: 역색인에 있는 토큰만 (KEYS/전체 GET 없음), 한 스크립트로 원자적으로
+    public void deleteAllTokensByUserId(Long userId) {
+        redisTemplate.execute(DELETE_ALL, List.of(userIndexKey(userId)), TOKEN_PREFIX);
+    }
 
-        for (String key : keys) {
-            String storedUserId = redisTemplate.opsForValue().get(key);
-            if (target.equals(storedUserId)) {
-                redisTemplate.delete(key);
-            }
-        }
+    private static String userIndexKey(Long userId) {
+        return USER_INDEX_PREFIX + userId;
     }
 }
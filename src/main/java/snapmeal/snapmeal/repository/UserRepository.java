@@ -1,7 +1,11 @@
 package snapmeal.snapmeal.repository;
 
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import snapmeal.snapmeal.domain.User;
 
@@ -11,5 +15,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUserId(String userId);
 
     boolean existsByNickname(String nickname);
+
+    // id 키셋 페이지 (배치 작업용, 전체 사용자를 한 번에 올리지 않음). id % shards == shard 인 사용자만
+    @Query("select u from User u where u.id > :afterId and mod(u.id, :shards) = :shard order by u.id")
+    List<User> findShardPage(@Param("afterId") Long afterId,
+                             @Param("shards") int shards,
+                             @Param("shard") int shard,
+                             Pageable pageable);
 }
 
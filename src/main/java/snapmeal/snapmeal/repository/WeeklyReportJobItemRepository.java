@@ -0,0 +1,96 @@
+package snapmeal.snapmeal.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import snapmeal.snapmeal.domain.WeeklyReportJobItem;
+import snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus;
+
+public interface WeeklyReportJobItemRepository extends JpaRepository<WeeklyReportJobItem, Long> {
+
+    // 1단계: 샤드에 속한 사용자의 한 주 합계를 DB 에서 집계해 항목으로 채움 (이미 DONE 인 항목은 그대로)
+    // 하루 합계와 같은 기준: 영양 분석이 연결된 식단의 meal_date
+    @Modifying
+    @Query(value = """
+    INSERT INTO weekly_report_job_items
+        (user_id, week_start, status, attempts, total_calories, total_protein, total_carbs, total_sugar, total_fat,
+         updated_at)
+    SELECT agg.user_id, :weekStart, 'PENDING', 0, agg.calories, agg.protein, agg.carbs, agg.sugar, agg.fat, NOW()
+    FROM (
+        SELECT m.user_id AS user_id,
+               SUM(n.calories) AS calories, SUM(n.protein) AS protein, SUM(n.carbs) AS carbs,
+               SUM(n.sugar) AS sugar, SUM(n.fat) AS fat
+        FROM meals m
+        JOIN nutrition_analysis n ON n.id = m.nutrition_id
+        WHERE m.meal_date >= :start AND m.meal_date < :end
+          AND MOD(m.user_id, :shards) = :shard
+        GROUP BY m.user_id
+    ) agg
+    ON DUPLICATE KEY UPDATE
+        total_calories = IF(status = 'DONE', total_calories, VALUES(total_calories)),
+        total_protein  = IF(status = 'DONE', total_protein,  VALUES(total_protein)),
+        total_carbs    = IF(status = 'DONE', total_carbs,    VALUES(total_carbs)),
+        total_sugar    = IF(status = 'DONE', total_sugar,    VALUES(total_sugar)),
+        total_fat      = IF(status = 'DONE', total_fat,      VALUES(total_fat)),
+        updated_at     = NOW()
+""", nativeQuery = true)
+    int seed(@Param("weekStart") LocalDate weekStart,
+             @Param("start") LocalDateTime start,
+             @Param("end") LocalDateTime end,
+             @Param("shards") int shards,
+             @Param("shard") int shard);
+
+    // 2단계 대상: PENDING + 재시도 횟수가 남은 FAILED (id 키셋 페이지)
+    @Query("""
+    SELECT i FROM WeeklyReportJobItem i
+    WHERE i.weekStart = :weekStart
+      AND (i.status = snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus.PENDING
+           OR (i.status = snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus.FAILED AND i.attempts < :maxAttempts))
+      AND i.id > :afterId
+      AND mod(i.userId, :shards) = :shard
+    ORDER BY i.id
+""")
+    List<WeeklyReportJobItem> findRunnable(@Param("weekStart") LocalDate weekStart,
+                                           @Param("maxAttempts") int maxAttempts,
+                                           @Param("afterId") Long afterId,
+                                           @Param("shards") int shards,
+                                           @Param("shard") int shard,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("""
+    UPDATE WeeklyReportJobItem i
+    SET i.status = snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus.DONE,
+        i.attempts = i.attempts + :attempts, i.lastError = null, i.updatedAt = CURRENT_TIMESTAMP
+    WHERE i.id = :id
+""")
+    void markDone(@Param("id") Long id, @Param("attempts") int attempts);
+
+    @Modifying
+    @Query("""
+    UPDATE WeeklyReportJobItem i
+    SET i.status = snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus.FAILED,
+        i.attempts = i.attempts + :attempts, i.lastError = :error, i.updatedAt = CURRENT_TIMESTAMP
+    WHERE i.id = :id
+""")
+    void markFailed(@Param("id") Long id, @Param("attempts") int attempts, @Param("error") String error);
+
+    // 진행 상황 (상태별 건수)
+    @Query("SELECT i.status AS status, COUNT(i) AS count FROM WeeklyReportJobItem i "
+            + "WHERE i.weekStart = :weekStart GROUP BY i.status")
+    List<StatusCount> countByStatus(@Param("weekStart") LocalDate weekStart);
+
+    @Modifying
+    @Query("DELETE FROM WeeklyReportJobItem i WHERE i.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+    interface StatusCount {
+        WeeklyReportJobStatus getStatus();
+        long getCount();
+    }
+}
@@ -0,0 +1,161 @@
+package snapmeal.snapmeal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.domain.enums.ChallengeStatus;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
+import snapmeal.snapmeal.repository.ChallengeRepository;
+
+/**
+ * 야간 챌린지 판정 (어제까지 끝난 PENDING/IN_PROGRESS 챌린지)
+ * - challengeId 키셋 페이지로 대상 id 만 읽고, chunk-size 단위로 잘라 challengeTaskExecutor 워커에 분배
+ * - 청크마다 ChallengeService.evaluateChunk 트랜잭션이 따로 커밋
+ * - 한 번에 워커 수만큼의 청크(웨이브)를 돌리고, 웨이브가 모두 성공하면 마지막 id 를 Redis 에 체크포인트
+ * - 체크포인트는 샤드별 (challengeEvaluation:checkpoint:{today}:{shard}/{total})
+ * - 중간에 죽으면 다음 실행이 체크포인트 다음부터 이어서 처리 (실패한 청크는 상태가 그대로라 다음 날 판정에도 다시 잡힘)
+ */
+@Slf4j
+@Component
+public class ChallengeEvaluationJob {
+
+    private static final String CHECKPOINT_PREFIX = "challengeEvaluation:checkpoint:";
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(2);
+    private static final List<ChallengeStatus> TARGET_STATUSES =
+            List.of(ChallengeStatus.PENDING, ChallengeStatus.IN_PROGRESS);
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeService challengeService;
+    private final AsyncTaskExecutor challengeTaskExecutor;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final int chunkSize;
+    private final int workers;
+
+    private final Timer chunkTimer;
+    private final Counter successCounter;
+    private final Counter failCounter;
+    private final Counter notParticipatedCounter;
+    private final Counter chunkErrorCounter;
+
+    public ChallengeEvaluationJob(ChallengeRepository challengeRepository,
+                                  ChallengeService challengeService,
+                                  @Qualifier("challengeTaskExecutor") AsyncTaskExecutor challengeTaskExecutor,
+                                  StringRedisTemplate stringRedisTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${challenge.evaluation.chunk-size:200}") int chunkSize,
+                                  @Value("${challenge.evaluation.workers:4}") int workers) {
+        this.challengeRepository = challengeRepository;
+        this.challengeService = challengeService;
+        this.challengeTaskExecutor = challengeTaskExecutor;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+
+        this.chunkTimer = Timer.builder("challenge.evaluation.chunk").register(meterRegistry);
+        this.successCounter = processed(meterRegistry, "success");
+        this.failCounter = processed(meterRegistry, "fail");
+        this.notParticipatedCounter = processed(meterRegistry, "not_participated");
+        this.chunkErrorCounter = Counter.builder("challenge.evaluation.chunk.errors").register(meterRegistry);
+    }
+
+    /** 실행일(today) 기준 어제까지 끝난 챌린지 중 샤드 하나 판정. 처리한 건수 반환 */
+    public int run(LocalDate today, JobShard shard) {
+        LocalDate endDate = today.minusDays(1);
+        String checkpointKey = CHECKPOINT_PREFIX + today + ":" + shard.index() + "/" + shard.total();
+        long afterId = readCheckpoint(checkpointKey);
+        if (afterId > 0) {
+            log.info("[ChallengeEvaluation] 체크포인트 이후부터 재개: challengeId > {}", afterId);
+        }
+
+        long started = System.nanoTime();
+        int processed = 0;
+        boolean checkpointing = true;
+
+        while (true) {
+            // 웨이브 한 번 분량(워커 수 × 청크 크기)의 대상 id
+            List<Long> ids = challengeRepository.findEvaluationTargetIds(TARGET_STATUSES, endDate, afterId,
+                    shard.total(), shard.index(), PageRequest.of(0, chunkSize * workers));
+            if (ids.isEmpty()) {
+                break;
+            }
+            // 리스를 잃었으면 중단 (새 보유자가 체크포인트부터 이어서 판정)
+            if (!shard.checkLease()) {
+                return processed;
+            }
+
+            List<Future<ChallengeService.EvaluationCounts>> futures = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+                futures.add(challengeTaskExecutor.submit(
+                        () -> chunkTimer.recordCallable(() -> challengeService.evaluateChunk(chunk, shard))));
+            }
+
+            boolean waveSucceeded = true;
+            for (Future<ChallengeService.EvaluationCounts> future : futures) {
+                try {
+                    ChallengeService.EvaluationCounts counts = future.get();
+                    successCounter.increment(counts.success());
+                    failCounter.increment(counts.fail());
+                    notParticipatedCounter.increment(counts.notParticipated());
+                    processed += counts.success() + counts.fail() + counts.notParticipated();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("[ChallengeEvaluation] 중단됨 (체크포인트: {})", afterId);
+                    return processed;
+                } catch (ExecutionException e) {
+                    waveSucceeded = false;
+                    chunkErrorCounter.increment();
+                    log.error("[ChallengeEvaluation] 청크 판정 실패", e.getCause());
+                }
+            }
+
+            afterId = ids.get(ids.size() - 1);
+            // 실패한 청크가 생기면 이후로는 체크포인트를 올리지 않음 (재실행 시 그 지점부터 다시)
+            checkpointing &= waveSucceeded;
+            if (checkpointing) {
+                writeCheckpoint(checkpointKey, afterId);
+            }
+        }
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1_000_000_000.0);
+        log.info("[ChallengeEvaluation] {} 판정 완료: {}건 ({} s, {}/s)",
+                endDate, processed, String.format("%.1f", seconds), String.format("%.1f", processed / seconds));
+        return processed;
+    }
+
+    private long readCheckpoint(String key) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(key);
+            return value == null ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            log.warn("[ChallengeEvaluation] 체크포인트 조회 실패, 처음부터 실행: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint(String key, long afterId) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(afterId), CHECKPOINT_TTL);
+        } catch (Exception e) {
+            log.warn("[ChallengeEvaluation] 체크포인트 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static Counter processed(MeterRegistry registry, String result) {
+        return Counter.builder("challenge.evaluation.processed").tag("result", result).register(registry);
+    }
+}
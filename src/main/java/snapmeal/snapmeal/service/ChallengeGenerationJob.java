@@ -0,0 +1,182 @@
+package snapmeal.snapmeal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.Challenges;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
+import snapmeal.snapmeal.repository.ChallengeRepository;
+import snapmeal.snapmeal.repository.ChallengeRepository.UserMenuView;
+import snapmeal.snapmeal.repository.MealsRepository;
+import snapmeal.snapmeal.repository.UserRepository;
+
+/**
+ * 전체 사용자 주간 챌린지 일괄 생성 (매주 월요일, ChallengeScheduler)
+ * - 사용자를 id 키셋 페이지로 읽음 (findAll 로 전체를 올리지 않음), 샤드에 속한 사용자만
+ * - 페이지마다 이미 이번 주 챌린지가 있는 사용자 / 지난주 메뉴를 쿼리 한 번씩으로 읽음
+ * - 챌린지 문구는 ChallengeTemplatePool 에서 메모리 샘플링 (LLM 은 주 1회 풀을 만들 때만 호출)
+ * - 저장은 JdbcTemplate batchUpdate 로 페이지당 한 번
+ * - 진행 상황은 페이지마다 로그 + challenge.generation.* 지표로 노출
+ */
+@Slf4j
+@Component
+public class ChallengeGenerationJob {
+
+    private static final String INSERT_SQL = "INSERT INTO challenges "
+            + "(user_id, title, target_menu_name, description, start_date, end_date, status, is_avoid_type, "
+            + "menu_day_bits, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            // (user_id, start_date, target_menu_name) 유니크 키: 겹친 실행이 같은 챌린지를 다시 넣어도 무시
+            + "ON DUPLICATE KEY UPDATE challenge_id = challenge_id";
+
+    private final UserRepository userRepository;
+    private final ChallengeRepository challengeRepository;
+    private final MealsRepository mealsRepository;
+    private final ChallengeGeneratorService challengeGeneratorService;
+    private final ChallengeTemplatePool challengeTemplatePool;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int pageSize;
+
+    private final AtomicInteger totalUsers = new AtomicInteger();
+    private final AtomicInteger processedUsers = new AtomicInteger();
+    private final Counter createdCounter;
+
+    public ChallengeGenerationJob(UserRepository userRepository,
+                                  ChallengeRepository challengeRepository,
+                                  MealsRepository mealsRepository,
+                                  ChallengeGeneratorService challengeGeneratorService,
+                                  ChallengeTemplatePool challengeTemplatePool,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${challenge.generation.page-size:500}") int pageSize) {
+        this.userRepository = userRepository;
+        this.challengeRepository = challengeRepository;
+        this.mealsRepository = mealsRepository;
+        this.challengeGeneratorService = challengeGeneratorService;
+        this.challengeTemplatePool = challengeTemplatePool;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+
+        Gauge.builder("challenge.generation.users.total", totalUsers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("challenge.generation.users.processed", processedUsers, AtomicInteger::get).register(meterRegistry);
+        this.createdCounter = Counter.builder("challenge.generation.created").register(meterRegistry);
+    }
+
+    /** 샤드 하나(id % total == index 인 사용자) 처리. @return 새로 만든 챌린지 수 */
+    public int run(LocalDate weekStart, LocalDate weekEnd, JobShard shard) {
+        // 풀이 없으면 여기서 생성을 기다림 (기본 문구로 전원 생성되지 않도록)
+        challengeTemplatePool.prepare(weekStart, shard);
+        totalUsers.set((int) userRepository.count());
+        processedUsers.set(0);
+        long started = System.currentTimeMillis();
+
+        long afterId = 0L;
+        int created = 0;
+        while (true) {
+            List<User> users = userRepository.findShardPage(
+                    afterId, shard.total(), shard.index(), PageRequest.of(0, pageSize));
+            if (users.isEmpty()) {
+                break;
+            }
+            // 리스를 잃었으면 쓰지 않고 중단 (새 보유자가 남은 사용자를 이어서 생성)
+            if (!shard.checkLease()) {
+                break;
+            }
+            created += processPage(users, weekStart, weekEnd, shard);
+            afterId = users.get(users.size() - 1).getId();
+
+            processedUsers.addAndGet(users.size());
+            log.info("[ChallengeGeneration] 진행 {}/{} 사용자, 생성 {}건", processedUsers.get(), totalUsers.get(), created);
+        }
+
+        log.info("[ChallengeGeneration] {} ~ {} 샤드 {}/{} 생성 완료: 사용자 {}명, 챌린지 {}건 ({} ms)",
+                weekStart, weekEnd, shard.index(), shard.total(), processedUsers.get(), created,
+                System.currentTimeMillis() - started);
+        return created;
+    }
+
+    private int processPage(List<User> users, LocalDate weekStart, LocalDate weekEnd, JobShard shard) {
+        List<Long> ids = users.stream().map(User::getId).toList();
+        Set<Long> already = new HashSet<>(challengeRepository.findUserIdsWithChallengesBetween(ids, weekStart, weekEnd));
+
+        // 지난주 메뉴 (쿼리 한 번)
+        Map<Long, Set<String>> recentMenus = new HashMap<>();
+        for (UserMenuView row : challengeRepository.findMenusByUsersBetween(
+                ids, weekStart.minusWeeks(1), weekEnd.minusWeeks(1))) {
+            recentMenus.computeIfAbsent(row.getUserId(), id -> new HashSet<>()).add(row.getTargetMenuName());
+        }
+
+        // 템플릿 풀에서 메모리 샘플링만 (OpenAI 호출 없음)
+        List<Challenges> rows = new ArrayList<>();
+        Set<Long> pending = new HashSet<>();
+        for (User u : users) {
+            if (already.contains(u.getId())) {
+                continue;
+            }
+            rows.addAll(challengeGeneratorService.sample(
+                    u, recentMenus.getOrDefault(u.getId(), Set.of()), weekStart, weekEnd));
+            pending.add(u.getId());
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 기간 안에 식단이 없는 사용자는 스탬프 비트맵을 0 으로 시작 (있으면 null → 조회 시 계산/백필)
+        Set<Long> withMeals = new HashSet<>(mealsRepository.findUserIdsWithMealsBetween(
+                pending, weekStart.atStartOfDay(), weekEnd.plusDays(1).atStartOfDay()));
+
+        // 펜싱 확인과 삽입을 한 트랜잭션으로 (리스를 잃은 뒤의 늦은 삽입은 롤백)
+        transactionTemplate.executeWithoutResult(status -> {
+            shard.fence();
+            batchInsert(rows, withMeals);
+        });
+        createdCounter.increment(rows.size());
+        return rows.size();
+    }
+
+    private void batchInsert(List<Challenges> rows, Set<Long> usersWithMeals) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, c) -> {
+            ps.setLong(1, c.getUser().getId());
+            ps.setString(2, c.getTitle());
+            ps.setString(3, c.getTargetMenuName());
+            ps.setString(4, c.getDescription());
+            ps.setDate(5, Date.valueOf(c.getStartDate()));
+            ps.setDate(6, Date.valueOf(c.getEndDate()));
+            ps.setString(7, c.getStatus().name());
+            ps.setBoolean(8, c.isAvoidType());
+            if (usersWithMeals.contains(c.getUser().getId())) {
+                ps.setNull(9, Types.BIGINT);
+            } else {
+                ps.setLong(9, 0L);
+            }
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+}
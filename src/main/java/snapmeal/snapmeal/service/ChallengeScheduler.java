@@ -4,20 +4,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import snapmeal.snapmeal.domain.User;
-import snapmeal.snapmeal.repository.UserRepository;
-import snapmeal.snapmeal.service.ChallengeGeneratorService;
-import snapmeal.snapmeal.service.ChallengeService;
+import snapmeal.snapmeal.global.ClusterJobRunner;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.List;
 
 /**
  * 챌린지 스케줄러
  * - 매일 00:10 (KST): 자정 성공/실패 판정
- * - 매주 월요일 00:20 (KST): 이번 주 챌린지 3개 생성
+ * - 매주 일요일 23:00 (KST): 다음 주 챌린지 템플릿 풀 생성
+ * - 매주 월요일 00:20 (KST): 이번 주 챌린지 3개 생성 (풀에서 샘플링)
+ * - 여러 인스턴스에서 떠도 ClusterJobRunner 락을 잡은 노드만 실행 (판정/생성은 샤드 단위로 나눠 가짐)
  */
 @Slf4j
 @Component
@@ -26,14 +24,25 @@ public class ChallengeScheduler {
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    private final ChallengeService challengeService;
-    private final ChallengeGeneratorService generatorService;
-    private final UserRepository userRepository;
+    private final ChallengeEvaluationJob challengeEvaluationJob;
+    private final ChallengeGenerationJob challengeGenerationJob;
+    private final ChallengeTemplatePool challengeTemplatePool;
+    private final ClusterJobRunner clusterJobRunner;
 
     /** 자정 직후 평가: 어제까지 끝난 챌린지를 SUCCESS/FAIL로 마감 */
     @Scheduled(cron = "0 10 0 * * *", zone = "Asia/Seoul")
     public void evaluateDailyAtMidnight() {
-        challengeService.evaluateDaily();
+        LocalDate today = LocalDate.now(KST);
+        clusterJobRunner.runSharded("challengeEvaluation", today.toString(),
+                shard -> challengeEvaluationJob.run(today, shard));
+    }
+
+    /** 다음 주 챌린지 템플릿 풀 미리 생성 (LLM 호출은 주 1회 여기서만) */
+    @Scheduled(cron = "${challenge.templates.refresh-cron:0 0 23 * * SUN}", zone = "Asia/Seoul")
+    public void refreshChallengeTemplates() {
+        LocalDate nextWeekStart = LocalDate.now(KST).with(DayOfWeek.MONDAY).plusWeeks(1);
+        clusterJobRunner.runOnce("challengeTemplates", nextWeekStart.toString(),
+                shard -> challengeTemplatePool.refresh(nextWeekStart, shard));
     }
 
     /** 주간 챌린지 생성: 주가 바뀐 직후(월 00:20)에 생성 */
@@ -43,9 +52,7 @@ public class ChallengeScheduler {
         LocalDate weekStart = today.with(DayOfWeek.MONDAY);
         LocalDate weekEnd = weekStart.plusDays(6);
 
-        List<User> users = userRepository.findAll();
-        for (User u : users) {
-            generatorService.generateWeeklyForUser(u, weekStart, weekEnd, false);
-        }
+        clusterJobRunner.runSharded("challengeGeneration", weekStart.toString(),
+                shard -> challengeGenerationJob.run(weekStart, weekEnd, shard));
     }
 }
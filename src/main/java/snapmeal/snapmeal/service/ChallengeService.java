@@ -7,7 +7,9 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,10 +19,10 @@ import snapmeal.snapmeal.domain.ChallengeReviews;
 import snapmeal.snapmeal.domain.Challenges;
 import snapmeal.snapmeal.domain.User;
 import snapmeal.snapmeal.domain.enums.ChallengeStatus;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
 import snapmeal.snapmeal.global.util.AuthService;
 import snapmeal.snapmeal.repository.ChallengeRepository;
 import snapmeal.snapmeal.repository.ChallengeReviewRepository;
-import snapmeal.snapmeal.repository.MealsRepository;
 import snapmeal.snapmeal.web.dto.ChallengeDto;
 
 @Slf4j
@@ -30,7 +32,7 @@ public class ChallengeService {
 
     private final ChallengeRepository challengeRepository;
     private final ChallengeReviewRepository reviewRepository;
-    private final MealsRepository mealsRepository;
+    private final ChallengeStampEngine challengeStampEngine;
     private final AuthService authService;
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
@@ -39,43 +41,27 @@ public class ChallengeService {
      * 스탬프/판정 유틸
      * ========================== */
 
-    // (임시) 회피형 여부. 엔티티 컬럼 도입 전까지 사용.
+    // 회피형 판정은 스탬프 엔진과 같은 규칙 사용
     private boolean isAvoidType(Challenges c) {
-        String t = (c.getTitle() + " " + c.getDescription()).toLowerCase();
-        return t.contains("안마시") || t.contains("금지") || t.contains("끊") || t.contains("avoid");
+        return challengeStampEngine.isAvoidType(c);
     }
 
-    // 특정 날짜 d에서 "그 날 규칙 충족 여부" 계산
-    private boolean isSatisfiedOn(Challenges c, LocalDate d) {
-        LocalDateTime begin = d.atStartOfDay();
-        LocalDateTime end   = d.atTime(23, 59, 59);
-
-        boolean contains = mealsRepository
-                .existsByUserAndMealDateBetweenAndMenuContainingIgnoreCase(
-                        c.getUser(), begin, end, c.getTargetMenuName()
-                );
-
-        // 회피형: 해당 메뉴가 없어야 충족 / 섭취형: 있으면 충족
-        return isAvoidType(c) ? !contains : contains;
+    // 스탬프/충족일수를 DTO 에 세팅
+    private void applyStamps(ChallengeDto.Response dto, ChallengeStampEngine.Stamps stamps) {
+        dto.setStamps(stamps.toArray());
+        dto.setSatisfiedDays(stamps.satisfiedDays());
     }
 
-    // 시작~종료 기간 동안 일별 스탬프(boolean[]) 계산
-    private boolean[] buildDailyStamps(Challenges c) {
-        LocalDate start = c.getStartDate();
-        LocalDate end   = c.getEndDate();
-
-        int days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
-        boolean[] stamps = new boolean[days];
-
-        LocalDate today = LocalDate.now(KST);
-        for (int i = 0; i < days; i++) {
-            LocalDate d = start.plusDays(i);
-            // 미래 날짜는 미판정 → false 유지 (원하면 DTO를 Boolean[]로 바꿔 null 처리)
-            if (!d.isAfter(today)) {
-                stamps[i] = isSatisfiedOn(c, d);
-            }
+    // 같은 사용자의 챌린지 목록을 스탬프 포함 DTO 로 (식사 조회는 한 번)
+    private List<ChallengeDto.Response> toDetailDtosWithStamps(User user, List<Challenges> challenges) {
+        Map<Long, ChallengeStampEngine.Stamps> stamps = challengeStampEngine.computeAll(user, challenges);
+        List<ChallengeDto.Response> result = new ArrayList<>();
+        for (Challenges c : challenges) {
+            ChallengeDto.Response dto = ChallengeConverter.toDetailDto(c);
+            applyStamps(dto, stamps.get(c.getChallengeId()));
+            result.add(dto);
         }
-        return stamps;
+        return result;
     }
 
     private boolean hasChallengeEnded(Challenges c) {
@@ -90,7 +76,7 @@ public class ChallengeService {
     // 참여하기
     @Transactional
     public ChallengeDto.Response.ParticipateResponse participate(Long challengeId) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         Challenges c = challengeRepository.findByChallengeIdAndUser(challengeId, user)
                 .orElseThrow(() -> new EntityNotFoundException("챌린지를 찾을 수 없습니다."));
         c.participate();
@@ -100,7 +86,7 @@ public class ChallengeService {
     // 포기하기
     @Transactional
     public ChallengeDto.Response.ParticipateResponse giveUp(Long challengeId) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         Challenges c = challengeRepository.findByChallengeIdAndUser(challengeId, user)
                 .orElseThrow(() -> new EntityNotFoundException("챌린지를 찾을 수 없습니다."));
         c.giveUp();
@@ -110,7 +96,7 @@ public class ChallengeService {
     // 내 챌린지 목록
     @Transactional(readOnly = true)
     public List<Challenges> listMine(String statusesCsv) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         List<ChallengeStatus> statuses = Arrays.stream(statusesCsv.split(","))
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
@@ -122,27 +108,13 @@ public class ChallengeService {
     // 스탬프 찍기
     @Transactional(readOnly = true)
     public List<ChallengeDto.Response> listMineWithStamps(String statusesCsv) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         List<ChallengeStatus> statuses = Arrays.stream(statusesCsv.split(","))
                 .map(String::trim).filter(s -> !s.isEmpty())
                 .map(ChallengeStatus::valueOf).toList();
 
         var challenges = challengeRepository.findAllByUserAndStatusIn(user, statuses);
-
-        List<ChallengeDto.Response> result = new ArrayList<>();
-        for (Challenges c : challenges) {
-            // 기본 상세 DTO
-            ChallengeDto.Response dto = ChallengeConverter.toDetailDto(c);
-
-            // 스탬프/충족일수 채우기 (getDetail과 동일 로직)
-            boolean[] stamps = buildDailyStamps(c);
-            dto.setStamps(stamps);
-            int satisfied = 0; for (boolean s : stamps) if (s) satisfied++;
-            dto.setSatisfiedDays(satisfied);
-
-            result.add(dto);
-        }
-        return result;
+        return toDetailDtosWithStamps(user, challenges);
     }
     /**
      * 참여 전, 내 계정에 "생성되어 있는" 전체 챌린지 조회
@@ -152,7 +124,7 @@ public class ChallengeService {
      */
     @Transactional(readOnly = true)
     public List<ChallengeDto.Response> listAvailableAll() {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         // 기존 findAllByUserAndStatusIn 재사용 (레포 메서드 추가 불필요)
         var entities = challengeRepository.findAllByUserAndStatusIn(
@@ -168,26 +140,15 @@ public class ChallengeService {
     // 참여 중인 챌린지(IN_PROGRESS)만 스탬프 포함해 반환
     @Transactional(readOnly = true)
     public List<ChallengeDto.Response> listParticipatingWithStamps() {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         // IN_PROGRESS만 조회
         var challenges = challengeRepository.findAllByUserAndStatusIn(
                 user, List.of(ChallengeStatus.IN_PROGRESS)
         );
 
-        List<ChallengeDto.Response> result = new ArrayList<>();
-        for (Challenges c : challenges) {
-            ChallengeDto.Response dto = ChallengeConverter.toDetailDto(c);
-
-            // 참여 중일 때만 스탬프 계산/세팅
-            boolean[] stamps = buildDailyStamps(c);
-            dto.setStamps(stamps);
-            int satisfied = 0; for (boolean s : stamps) if (s) satisfied++;
-            dto.setSatisfiedDays(satisfied);
-
-            result.add(dto);
-        }
-        return result;
+        // 참여 중일 때만 스탬프 계산/세팅 (모든 챌린지 스탬프를 식사 조회 한 번으로)
+        return toDetailDtosWithStamps(user, challenges);
     }
 
     /**
@@ -197,7 +158,7 @@ public class ChallengeService {
      */
     @Transactional(readOnly = true)
     public ChallengeDto.Response getDetail(Long challengeId, Long currentUserId) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Challenges c = challengeRepository.findByChallengeIdAndUser(challengeId, currentUser)
                 .orElseThrow(() -> new EntityNotFoundException("해당 챌린지를 찾을 수 없습니다."));
 
@@ -205,10 +166,7 @@ public class ChallengeService {
 
         // 참여 중(IN_PROGRESS)일 때만 스탬프 계산/세팅
         if (c.getStatus() != ChallengeStatus.PENDING) {
-            boolean[] stamps = buildDailyStamps(c);
-            dto.setStamps(stamps);
-            int satisfied = 0; for (boolean s : stamps) if (s) satisfied++;
-            dto.setSatisfiedDays(satisfied);
+            applyStamps(dto, challengeStampEngine.compute(currentUser, c));
         } else {
             // 스탬프 숨김(원하면 null 세팅)
             dto.setStamps(null);
@@ -218,45 +176,65 @@ public class ChallengeService {
         return dto;
     }
 
+    /** 판정 결과 건수 (청크 단위) */
+    public record EvaluationCounts(int success, int fail, int notParticipated) {
+    }
+
     /**
-     * 종료 챌린지 판정 (스케줄 호출은 ChallengeScheduler에서)
+     * 종료 챌린지 판정 - 청크 한 개 (전체 흐름은 ChallengeEvaluationJob 에서)
+     * - 청크마다 트랜잭션을 따로 잡아 커밋 (긴 트랜잭션/락 방지)
      * - 회피형: 모든 날 충족 → SUCCESS
      * - 섭취형: 1일 이상 충족 → SUCCESS   (필요 시 요구치 컬럼과 비교)
      */
     @Transactional
-    public void evaluateDaily() {
-        LocalDate today = LocalDate.now(KST);
-
-        // PENDING + IN_PROGRESS 중 어제까지 끝난 챌린지만 판정 대상
-        List<Challenges> targets = challengeRepository
-                .findAllByStatusInAndEndDateLessThanEqual(
-                        List.of(ChallengeStatus.PENDING, ChallengeStatus.IN_PROGRESS),
-                        today.minusDays(1)  // 어제까지 끝난 챌린지
-                );
-
-        for (Challenges c : targets) {
+    public EvaluationCounts evaluateChunk(List<Long> challengeIds, JobShard shard) {
+        // 리스를 잃은 이전 보유자의 늦은 판정은 롤백
+        shard.fence();
+        int success = 0;
+        int fail = 0;
+        int notParticipated = 0;
+
+        // 사용자별로 묶어 식사 조회를 사용자당 한 번으로
+        Map<Long, List<Challenges>> inProgressByUser = new LinkedHashMap<>();
+        for (Challenges c : challengeRepository.findAllById(challengeIds)) {
+
+            // 다른 실행에서 이미 판정된 챌린지는 건너뜀
+            if (c.getStatus() != ChallengeStatus.PENDING && c.getStatus() != ChallengeStatus.IN_PROGRESS) {
+                continue;
+            }
 
             // 끝날 때까지 참여 안 한 챌린지 -> NOT_PARTICIPATED
             if (c.getStatus() == ChallengeStatus.PENDING) {
                 c.markNotParticipated();
+                notParticipated++;
                 continue;
             }
+            inProgressByUser.computeIfAbsent(c.getUser().getId(), id -> new ArrayList<>()).add(c);
+        }
+
+        for (List<Challenges> challenges : inProgressByUser.values()) {
+            Map<Long, ChallengeStampEngine.Stamps> stamps =
+                    challengeStampEngine.computeAll(challenges.get(0).getUser(), challenges);
 
             // 여기 오면 무조건 IN_PROGRESS -> 성공/실패 판정
-            boolean[] stamps = buildDailyStamps(c);
-            int satisfied = 0;
-            for (boolean s : stamps) if (s) satisfied++;
-
-            boolean success = isAvoidType(c)
-                    ? (satisfied == stamps.length)  // 회피형: 전부 만족했을 때만 성공
-                    : (satisfied >= 1);             // 섭취형: 1일이라도 만족하면 성공
-
-            if (success) {
-                c.success(LocalDateTime.now(KST)); // SUCCESS + 종료시간 기록
-            } else {
-                c.fail(); // FAIL
+            for (Challenges c : challenges) {
+                ChallengeStampEngine.Stamps s = stamps.get(c.getChallengeId());
+                int satisfied = s.satisfiedDays();
+
+                boolean isSuccess = isAvoidType(c)
+                        ? (satisfied == s.days())  // 회피형: 전부 만족했을 때만 성공
+                        : (satisfied >= 1);        // 섭취형: 1일이라도 만족하면 성공
+
+                if (isSuccess) {
+                    c.success(LocalDateTime.now(KST)); // SUCCESS + 종료시간 기록
+                    success++;
+                } else {
+                    c.fail(); // FAIL
+                    fail++;
+                }
             }
         }
+        return new EvaluationCounts(success, fail, notParticipated);
     }
 
     /* ==========================
@@ -272,7 +250,7 @@ public class ChallengeService {
         if (req.getRating() == null || req.getRating() < 0 || req.getRating() > 5) {
             throw new IllegalArgumentException("별점은 0~5 범위여야 합니다.");
         }
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         Challenges c = challengeRepository.findByChallengeIdAndUser(challengeId, user)
                 .orElseThrow(() -> new EntityNotFoundException("챌린지를 찾을 수 없습니다."));
 
@@ -303,7 +281,7 @@ public class ChallengeService {
             Long reviewId,
             ChallengeDto.Response.ReviewCreateOrUpdateRequest req
     ) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         ChallengeReviews review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new EntityNotFoundException("후기를 찾을 수 없습니다."));
         if (!review.getUser().getId().equals(user.getId())) {
@@ -324,7 +302,7 @@ public class ChallengeService {
     // 후기 삭제
     @Transactional
     public void deleteReview(Long reviewId) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         ChallengeReviews review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new EntityNotFoundException("후기를 찾을 수 없습니다."));
         if (!review.getUser().getId().equals(user.getId())) {
@@ -348,7 +326,7 @@ public class ChallengeService {
 
     @Transactional(readOnly = true)
     public List<ChallengeDto.Response> listCurrentGeneratedChallenges() {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         // 현재 사용자에게 생성된 모든 챌린지를 최신순으로 조회
         List<Challenges> challenges = challengeRepository
@@ -366,7 +344,7 @@ public class ChallengeService {
      */
     @Transactional(readOnly = true)
     public ChallengeDto.Response.ReviewResponse getReview(Long challengeId) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         // 챌린지가 내 소유인지 확인
         Challenges challenge = challengeRepository
@@ -385,7 +363,7 @@ public class ChallengeService {
     // 내가 작성한 챌린지 리뷰 전체 조회
     @Transactional(readOnly = true)
     public List<ChallengeDto.Response.ReviewResponse> listMyReviews() {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         // 내가 쓴 리뷰들 최신순 조회
         List<ChallengeReviews> reviews =
@@ -411,7 +389,7 @@ public class ChallengeService {
             throw new IllegalArgumentException("별점은 0~5 범위여야 합니다.");
         }
 
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
         Challenges c = challengeRepository.findByChallengeIdAndUser(challengeId, user)
                 .orElseThrow(() -> new EntityNotFoundException("챌린지를 찾을 수 없습니다."));
 
@@ -0,0 +1,107 @@
+package snapmeal.snapmeal.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.Challenges;
+import snapmeal.snapmeal.repository.ChallengeRepository;
+
+/**
+ * 챌린지 스탬프 비트맵(menu_day_bits) 백필/재계산
+ * - challenge.stamp-backfill.enabled=true 로 기동하면 한 번 실행 (컬럼 도입 직후 / 비트맵이 어긋났을 때)
+ * - challengeId 키셋 페이지마다 트랜잭션을 따로 잡고, 페이지 안에서는 사용자별로 식단 쿼리 한 번
+ * - only-missing=true 면 비트맵이 없는 챌린지만, false 면 전체를 다시 계산
+ * - 표준 메뉴 타겟은 meal_menu_tag 를 읽으므로 태그 색인이 끝나지 않았으면 먼저 전체 색인부터 (기동 리스너 순서와 무관)
+ */
+@Slf4j
+@Component
+public class ChallengeStampBackfill {
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeStampEngine challengeStampEngine;
+    private final MealMenuTagService mealMenuTagService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean onlyMissing;
+    private final int pageSize;
+
+    public ChallengeStampBackfill(ChallengeRepository challengeRepository,
+                                  ChallengeStampEngine challengeStampEngine,
+                                  MealMenuTagService mealMenuTagService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${challenge.stamp-backfill.enabled:false}") boolean enabled,
+                                  @Value("${challenge.stamp-backfill.only-missing:true}") boolean onlyMissing,
+                                  @Value("${challenge.stamp-backfill.page-size:500}") int pageSize) {
+        this.challengeRepository = challengeRepository;
+        this.challengeStampEngine = challengeStampEngine;
+        this.mealMenuTagService = mealMenuTagService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.onlyMissing = onlyMissing;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuildAll(onlyMissing);
+        } catch (Exception e) {
+            log.error("[ChallengeStamp] 백필 실패", e);
+        }
+    }
+
+    /** @return 다시 계산한 챌린지 수 */
+    public int rebuildAll(boolean onlyMissing) {
+        mealMenuTagService.ensureIndexed();
+        long afterId = 0L;
+        int rebuilt = 0;
+        while (true) {
+            long cursor = afterId;
+            PageResult result = transactionTemplate.execute(status -> rebuildPage(cursor, onlyMissing));
+            if (result == null || result.read() == 0) {
+                break;
+            }
+            rebuilt += result.rebuilt();
+            afterId = result.lastId();
+        }
+        log.info("[ChallengeStamp] 비트맵 재계산 완료: {}건 (onlyMissing={})", rebuilt, onlyMissing);
+        return rebuilt;
+    }
+
+    private record PageResult(int read, int rebuilt, long lastId) {
+    }
+
+    private PageResult rebuildPage(long afterId, boolean onlyMissing) {
+        List<Challenges> page = challengeRepository
+                .findAllByChallengeIdGreaterThanOrderByChallengeIdAsc(afterId, PageRequest.of(0, pageSize));
+        if (page.isEmpty()) {
+            return new PageResult(0, 0, afterId);
+        }
+
+        Map<Long, List<Challenges>> byUser = new LinkedHashMap<>();
+        for (Challenges c : page) {
+            if (c.getUser() == null || (onlyMissing && c.getMenuDayBits() != null)) {
+                continue;
+            }
+            byUser.computeIfAbsent(c.getUser().getId(), id -> new ArrayList<>()).add(c);
+        }
+        int rebuilt = 0;
+        for (List<Challenges> challenges : byUser.values()) {
+            challengeStampEngine.rebuild(challenges.get(0).getUser(), challenges);
+            rebuilt += challenges.size();
+        }
+        return new PageResult(page.size(), rebuilt, page.get(page.size() - 1).getChallengeId());
+    }
+}
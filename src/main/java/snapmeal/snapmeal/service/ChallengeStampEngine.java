@@ -0,0 +1,333 @@
+package snapmeal.snapmeal.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import snapmeal.snapmeal.domain.Challenges;
+import snapmeal.snapmeal.domain.Meals;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.domain.enums.ChallengeStatus;
+import snapmeal.snapmeal.repository.ChallengeRepository;
+import snapmeal.snapmeal.repository.MealMenuTagRepository;
+import snapmeal.snapmeal.repository.MealMenuTagRepository.TagView;
+import snapmeal.snapmeal.repository.MealsRepository;
+import snapmeal.snapmeal.repository.MealsRepository.MealMenuView;
+
+/**
+ * 챌린지 일별 스탬프 계산
+ * - 챌린지마다 "타겟 메뉴를 기록한 날" 비트맵(Challenges.menuDayBits)을 저장해 두고 스탬프는 비트맵에서 바로 만듦
+ * - 비트맵은 식단 저장/수정/삭제 때 해당 날짜 비트만 원자적 UPDATE(OR/AND)로 갱신
+ * - 비트맵이 아직 없는 챌린지는 사용자의 전체 기간을 쿼리 한 번으로 읽어 메모리에서 계산
+ * - 타겟이 표준 메뉴(MenuCanonicalizer)면 meal_menu_tag 동등 비교, 아니면 기존처럼 메뉴 부분 일치(대소문자 무시)
+ * - 태그 전체 색인 전(MealMenuTagService.isIndexed() == false)에는 표준 메뉴 타겟도 식단 메뉴를 읽어 메모리에서 표준화해 비교
+ */
+@Component
+@RequiredArgsConstructor
+public class ChallengeStampEngine {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final List<ChallengeStatus> ACTIVE = List.of(ChallengeStatus.PENDING, ChallengeStatus.IN_PROGRESS);
+
+    // 삭제 제외 대상이 없을 때 쓰는 식단 id (존재하지 않는 값)
+    private static final Long NO_MEAL = -1L;
+
+    private final MealsRepository mealsRepository;
+    private final ChallengeRepository challengeRepository;
+    private final MealMenuTagRepository mealMenuTagRepository;
+    private final MenuCanonicalizer menuCanonicalizer;
+    private final MealMenuTagService mealMenuTagService;
+
+    /** 챌린지 한 건의 스탬프 결과 */
+    public record Stamps(BitSet bits, int days) {
+
+        public boolean[] toArray() {
+            boolean[] stamps = new boolean[days];
+            for (int i = bits.nextSetBit(0); i >= 0 && i < days; i = bits.nextSetBit(i + 1)) {
+                stamps[i] = true;
+            }
+            return stamps;
+        }
+
+        public int satisfiedDays() {
+            return bits.cardinality();
+        }
+    }
+
+    // (임시) 회피형 여부. 엔티티 컬럼 도입 전까지 사용.
+    public boolean isAvoidType(Challenges c) {
+        String t = (c.getTitle() + " " + c.getDescription()).toLowerCase();
+        return t.contains("안마시") || t.contains("금지") || t.contains("끊") || t.contains("avoid");
+    }
+
+    public Stamps compute(User user, Challenges challenge) {
+        return computeAll(user, List.of(challenge)).get(challenge.getChallengeId());
+    }
+
+    /**
+     * 같은 사용자의 챌린지들 스탬프를 한 번에 계산 (비트맵이 있으면 쿼리 없음)
+     * @return challengeId → 스탬프
+     */
+    public Map<Long, Stamps> computeAll(User user, Collection<Challenges> challenges) {
+        LocalDate today = LocalDate.now(KST);
+        Map<Long, Stamps> result = new HashMap<>();
+        List<Challenges> unmaterialized = new ArrayList<>();
+        for (Challenges c : challenges) {
+            if (c.getMenuDayBits() != null) {
+                result.put(c.getChallengeId(), toStamps(c, BitSet.valueOf(new long[]{c.getMenuDayBits()}), today));
+            } else {
+                unmaterialized.add(c);
+            }
+        }
+
+        if (!unmaterialized.isEmpty()) {
+            Map<Long, BitSet> menuDays = loadMenuDays(user, unmaterialized, today);
+            for (Challenges c : unmaterialized) {
+                result.put(c.getChallengeId(), toStamps(c, menuDays.get(c.getChallengeId()), today));
+            }
+        }
+        return result;
+    }
+
+    /** 같은 사용자의 챌린지들 비트맵을 식단에서 다시 계산해 저장 (생성 직후/백필) */
+    @Transactional
+    public void rebuild(User user, Collection<Challenges> challenges) {
+        List<Challenges> supported = challenges.stream()
+                .filter(Challenges::isMenuDayBitsSupported)
+                .toList();
+        if (supported.isEmpty()) {
+            return;
+        }
+        Map<Long, BitSet> menuDays = loadMenuDays(user, supported, LocalDate.now(KST));
+        for (Challenges c : supported) {
+            BitSet days = menuDays.get(c.getChallengeId());
+            long bits = days.isEmpty() ? 0L : days.toLongArray()[0];
+            challengeRepository.updateMenuDayBits(c.getChallengeId(), bits);
+            c.resetMenuDayBits(bits);
+        }
+    }
+
+    /** 식단 저장 시 호출 (호출 측 트랜잭션에 참여) */
+    @Transactional
+    public void onMealAdded(Meals meal) {
+        if (meal.getMealDate() == null || meal.getMenu() == null) {
+            return;
+        }
+        LocalDate day = meal.getMealDate().toLocalDate();
+        for (Challenges c : activeOn(meal.getUser(), day)) {
+            if (matches(c, meal.getMenu())) {
+                markMenuDay(c, day, true);
+            }
+        }
+    }
+
+    /**
+     * 식단 메뉴 수정 시 호출. 이전/새 메뉴 중 하나라도 맞는 챌린지는 그 날을 다시 판정
+     * (메뉴 태그를 먼저 갱신한 뒤 호출해야 함)
+     */
+    @Transactional
+    public void onMealMenuChanged(Meals meal, String previousMenu) {
+        refreshDay(meal, previousMenu, meal.getMenu(), null);
+    }
+
+    /** 식단 삭제 시 호출 (삭제 대상 식단은 판정에서 제외) */
+    @Transactional
+    public void onMealRemoved(Meals meal) {
+        refreshDay(meal, meal.getMenu(), null, meal.getMealId());
+    }
+
+    private void refreshDay(Meals meal, String before, String after, Long excludedMealId) {
+        if (meal.getMealDate() == null) {
+            return;
+        }
+        LocalDate day = meal.getMealDate().toLocalDate();
+        User user = meal.getUser();
+
+        List<String> dayMenus = null;
+        Boolean tagsIndexed = null;
+        for (Challenges c : activeOn(user, day)) {
+            boolean affected = matches(c, before) || matches(c, after);
+            if (!affected || c.getMenuDayBits() == null) {
+                continue;
+            }
+            if (tagsIndexed == null) {
+                tagsIndexed = mealMenuTagService.isIndexed();
+            }
+            Optional<String> canonical = menuCanonicalizer.canonicalOf(c.getTargetMenuName());
+            boolean recorded;
+            if (canonical.isPresent() && tagsIndexed) {
+                // 표준 메뉴: (user_id, canonical_menu, meal_date) 인덱스로 존재 여부만 확인
+                recorded = mealMenuTagRepository.existsTag(user.getId(), canonical.get(),
+                        day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                        excludedMealId == null ? NO_MEAL : excludedMealId);
+            } else {
+                if (dayMenus == null) {
+                    dayMenus = loadMenus(user, day, excludedMealId);
+                }
+                recorded = canonical.isPresent()
+                        ? dayMenus.stream().anyMatch(m -> menuCanonicalizer.canonicalize(m).contains(canonical.get()))
+                        : dayMenus.stream().anyMatch(m -> m.contains(target(c)));
+            }
+            markMenuDay(c, day, recorded);
+        }
+    }
+
+    // 해당 날짜 비트만 DB 에서 원자적으로 켜고/끄고, 메모리 값도 맞춰 둠
+    private void markMenuDay(Challenges c, LocalDate day, boolean recorded) {
+        long bit = c.menuDayBit(day);
+        if (bit == 0L) {
+            return;
+        }
+        if (recorded) {
+            challengeRepository.setMenuDayBit(c.getChallengeId(), bit);
+        } else {
+            challengeRepository.clearMenuDayBit(c.getChallengeId(), bit);
+        }
+        c.markMenuDay(day, recorded);
+    }
+
+    private boolean matches(Challenges c, String menu) {
+        if (menu == null) {
+            return false;
+        }
+        return menuCanonicalizer.canonicalOf(c.getTargetMenuName())
+                .map(canonical -> menuCanonicalizer.canonicalize(menu).contains(canonical))
+                .orElseGet(() -> menu.toLowerCase(Locale.ROOT).contains(target(c)));
+    }
+
+    private List<Challenges> activeOn(User user, LocalDate day) {
+        return challengeRepository.findAllByUserAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                user, ACTIVE, day, day);
+    }
+
+    // 하루치 메뉴 (소문자). 수정 중인 식단은 영속 상태라 쿼리 전 자동 flush 로 새 메뉴가 반영됨
+    private List<String> loadMenus(User user, LocalDate day, Long excludedMealId) {
+        List<String> menus = new ArrayList<>();
+        for (MealMenuView meal : mealsRepository.findAllByUserAndMealDateGreaterThanEqualAndMealDateLessThan(
+                user, day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            if (meal.getMenu() != null && !meal.getMealId().equals(excludedMealId)) {
+                menus.add(meal.getMenu().toLowerCase(Locale.ROOT));
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * 챌린지마다 타겟 메뉴를 기록한 날 (bit i = startDate + i), 오늘까지만
+     * - 표준 메뉴 타겟: meal_menu_tag 에서 해당 메뉴 행만 인덱스로 조회 (쿼리 한 번)
+     * - 그 외(사전에 없는 예전 타겟): 기간 식단 메뉴를 읽어 부분 일치 (쿼리 한 번)
+     */
+    private Map<Long, BitSet> loadMenuDays(User user, Collection<Challenges> challenges, LocalDate today) {
+        LocalDate from = null;
+        LocalDate to = null;
+        Map<Challenges, String> canonicalTargets = new HashMap<>();
+        List<Challenges> legacyTargets = new ArrayList<>();
+        for (Challenges c : challenges) {
+            from = (from == null || c.getStartDate().isBefore(from)) ? c.getStartDate() : from;
+            to = (to == null || c.getEndDate().isAfter(to)) ? c.getEndDate() : to;
+            Optional<String> canonical = menuCanonicalizer.canonicalOf(c.getTargetMenuName());
+            if (canonical.isPresent()) {
+                canonicalTargets.put(c, canonical.get());
+            } else {
+                legacyTargets.add(c);
+            }
+        }
+        // 미래 날짜는 미판정이므로 오늘까지만 조회
+        if (to.isAfter(today)) {
+            to = today;
+        }
+
+        Map<Long, BitSet> result = new HashMap<>();
+        for (Challenges c : challenges) {
+            result.put(c.getChallengeId(), new BitSet(c.getDays()));
+        }
+        if (from.isAfter(to)) {
+            return result;
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        // 태그 색인 전이면 표준 메뉴 타겟도 식단 메뉴에서 직접 계산
+        Map<Challenges, String> scannedTargets = Map.of();
+        if (!canonicalTargets.isEmpty() && !mealMenuTagService.isIndexed()) {
+            scannedTargets = canonicalTargets;
+            canonicalTargets = Map.of();
+        }
+
+        if (!canonicalTargets.isEmpty()) {
+            Map<String, Set<LocalDate>> daysByMenu = new HashMap<>();
+            for (TagView tag : mealMenuTagRepository.findTags(
+                    user.getId(), new HashSet<>(canonicalTargets.values()), start, end)) {
+                daysByMenu.computeIfAbsent(tag.getCanonicalMenu(), m -> new HashSet<>())
+                        .add(tag.getMealDate().toLocalDate());
+            }
+            Map<Challenges, String> tagTargets = canonicalTargets;
+            tagTargets.forEach((c, canonical) -> {
+                BitSet bits = result.get(c.getChallengeId());
+                for (LocalDate d : daysByMenu.getOrDefault(canonical, Set.of())) {
+                    setDay(c, bits, d);
+                }
+            });
+        }
+
+        if (!legacyTargets.isEmpty() || !scannedTargets.isEmpty()) {
+            for (MealMenuView meal : mealsRepository.findAllByUserAndMealDateGreaterThanEqualAndMealDateLessThan(
+                    user, start, end)) {
+                if (meal.getMealDate() == null || meal.getMenu() == null) {
+                    continue;
+                }
+                LocalDate day = meal.getMealDate().toLocalDate();
+                String menu = meal.getMenu().toLowerCase(Locale.ROOT);
+                for (Challenges c : legacyTargets) {
+                    if (menu.contains(target(c))) {
+                        setDay(c, result.get(c.getChallengeId()), day);
+                    }
+                }
+                if (!scannedTargets.isEmpty()) {
+                    Set<String> canonicalMenus = menuCanonicalizer.canonicalize(meal.getMenu());
+                    scannedTargets.forEach((c, canonical) -> {
+                        if (canonicalMenus.contains(canonical)) {
+                            setDay(c, result.get(c.getChallengeId()), day);
+                        }
+                    });
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void setDay(Challenges c, BitSet bits, LocalDate day) {
+        if (!day.isBefore(c.getStartDate()) && !day.isAfter(c.getEndDate())) {
+            bits.set((int) (day.toEpochDay() - c.getStartDate().toEpochDay()));
+        }
+    }
+
+    // 기록한 날 → 스탬프. 회피형: 해당 메뉴가 없어야 충족 / 섭취형: 있으면 충족. 미래 날짜는 미판정 → false
+    private Stamps toStamps(Challenges c, BitSet menuDays, LocalDate today) {
+        int days = c.getDays();
+        int judged = (int) Math.max(0, Math.min(days, today.toEpochDay() - c.getStartDate().toEpochDay() + 1));
+
+        BitSet stamps = (BitSet) menuDays.clone();
+        stamps.clear(judged, Math.max(judged, stamps.length()));
+        if (isAvoidType(c)) {
+            stamps.flip(0, judged);
+        }
+        return new Stamps(stamps, days);
+    }
+
+    private static String target(Challenges c) {
+        return c.getTargetMenuName() == null ? "" : c.getTargetMenuName().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,347 @@
+package snapmeal.snapmeal.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
+import snapmeal.snapmeal.global.LlmGateway;
+import snapmeal.snapmeal.web.dto.ChallengeAiResponse;
+
+/**
+ * 주간 챌린지 템플릿 풀
+ * - 주마다 LLM 을 한 번만 불러 허용 메뉴별 제목/설명 후보를 받아 검증 후 Redis 에 저장 (challengeTemplates:{weekStart})
+ * - 사용자별 생성은 풀에서 메뉴 3개를 가중치 무작위로 뽑기만 함 (OpenAI 호출 없음)
+ * - 가중치: 후보가 많은 메뉴일수록 높고, 지난주에 받았던 메뉴는 recent-penalty 만큼 낮춤
+ * - LLM 이 실패하거나 빠뜨린 메뉴는 "{메뉴} 먹기 / 가볍게 도전!" 기본 템플릿으로 채움
+ * - LLM 요청은 menus-per-request 개 메뉴씩 나눠 배치 호출 (request-timeout), 풀 생성은 주차별 single-flight
+ * - 요청 경로(sample)는 풀이 없으면 기다리지 않고 기본 템플릿을 쓰고 백그라운드 생성만 걸어 둠
+ *   배치 생성(ChallengeGenerationJob)은 prepare() 로 풀이 준비될 때까지 기다린 뒤 샘플링
+ * - 일부 묶음이 실패한 풀은 incomplete 로 메모리에만 둠 (Redis 에 저장하지 않음)
+ *   prepare() 는 다시 생성하고, 그래도 불완전하면 예외 → 샤드가 완료 표시 없이 남아 이어받기로 재시도
+ *   요청 경로는 불완전한 풀로 응답하되 incomplete-retry-interval 마다 백그라운드 재생성
+ */
+@Slf4j
+@Component
+public class ChallengeTemplatePool {
+
+    private static final String CACHE_PREFIX = "challengeTemplates:";
+    private static final Duration CACHE_TTL = Duration.ofDays(8);
+    private static final int PICK = 3;
+    private static final Duration LEASE_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private static final String SYSTEM_PROMPT = "너는 사용자에게 주간 '음식 기반 챌린지'를 제안하는 코치야. "
+            + "반드시 내가 준 허용 메뉴 목록 안에서만 선택하고, JSON 외 텍스트는 절대 반환하지 마.";
+
+    /** 메뉴 하나의 챌린지 문구 */
+    public record Template(String targetMenu, String title, String description) {
+    }
+
+    /** complete: 모든 묶음을 LLM 응답으로 채웠는지 (false 면 기본 문구가 섞여 있음) */
+    private record Snapshot(LocalDate weekStart, Map<String, List<Template>> byMenu, boolean complete,
+                            long builtAtMillis) {
+    }
+
+    private final LlmGateway llmGateway;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Executor llmTaskExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int variantsPerMenu;
+    private final double recentPenalty;
+    private final int menusPerRequest;
+    private final Duration requestTimeout;
+    private final Duration incompleteRetryInterval;
+
+    private volatile Snapshot snapshot;
+
+    // 주차별 진행 중인 생성 (single-flight)
+    private final ConcurrentMap<LocalDate, CompletableFuture<Void>> refreshing = new ConcurrentHashMap<>();
+
+    public ChallengeTemplatePool(LlmGateway llmGateway,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 @Qualifier("llmTaskExecutor") Executor llmTaskExecutor,
+                                 @Value("${challenge.templates.variants-per-menu:3}") int variantsPerMenu,
+                                 @Value("${challenge.templates.recent-penalty:0.2}") double recentPenalty,
+                                 @Value("${challenge.templates.menus-per-request:12}") int menusPerRequest,
+                                 @Value("${challenge.templates.request-timeout:90s}") Duration requestTimeout,
+                                 @Value("${challenge.templates.incomplete-retry-interval:10m}") Duration incompleteRetryInterval) {
+        this.llmGateway = llmGateway;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.llmTaskExecutor = llmTaskExecutor;
+        this.variantsPerMenu = variantsPerMenu;
+        this.recentPenalty = recentPenalty;
+        this.menusPerRequest = Math.max(1, menusPerRequest);
+        this.requestTimeout = requestTimeout;
+        this.incompleteRetryInterval = incompleteRetryInterval;
+    }
+
+    /**
+     * 해당 주 풀을 LLM 으로 새로 만들어 저장 (주 1회, ChallengeScheduler). 같은 주 생성이 진행 중이면 그 결과를 기다림
+     * - 배치 호출마다, 그리고 기다리는 동안 LEASE_CHECK_INTERVAL 마다 샤드 리스를 연장 (리스를 잃으면 예외로 중단)
+     */
+    public void refresh(LocalDate weekStart, JobShard shard) {
+        await(weekStart, refreshAsync(weekStart, () -> requireLease(shard)), shard);
+    }
+
+    /**
+     * 배치 작업용: 완성된 풀이 메모리/Redis 에 없으면(불완전한 풀 포함) 생성이 끝날 때까지 기다림
+     * 다시 만들어도 불완전하면 예외 (기본 문구로 전원 생성하지 않음)
+     */
+    public void prepare(LocalDate weekStart, JobShard shard) {
+        Snapshot current = loaded(weekStart);
+        if (current != null && current.complete()) {
+            return;
+        }
+        refresh(weekStart, shard);
+        current = loaded(weekStart);
+        if (current == null || !current.complete()) {
+            throw new IllegalStateException("챌린지 템플릿 일부 생성 실패: " + weekStart);
+        }
+    }
+
+    private void await(LocalDate weekStart, CompletableFuture<Void> future, JobShard shard) {
+        while (true) {
+            try {
+                future.get(LEASE_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                requireLease(shard);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("챌린지 템플릿 생성 실패: " + weekStart, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("챌린지 템플릿 생성 대기 중 인터럽트: " + weekStart, e);
+            }
+        }
+    }
+
+    // 리스를 잃었으면 LLM 을 더 부르지 않고 중단
+    private static void requireLease(JobShard shard) {
+        if (!shard.checkLease()) {
+            throw new IllegalStateException("챌린지 템플릿 리스 상실: " + shard.index() + "/" + shard.total());
+        }
+    }
+
+    // beforeBatch: 배치 호출 직전마다 실행 (예외면 생성 중단)
+    private CompletableFuture<Void> refreshAsync(LocalDate weekStart, Runnable beforeBatch) {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> running = refreshing.putIfAbsent(weekStart, created);
+        if (running != null) {
+            return running;
+        }
+        try {
+            llmTaskExecutor.execute(() -> {
+                try {
+                    build(weekStart, beforeBatch);
+                    created.complete(null);
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    refreshing.remove(weekStart, created);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(weekStart, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private void build(LocalDate weekStart, Runnable beforeBatch) {
+        Map<String, List<Template>> byMenu = new LinkedHashMap<>();
+        boolean complete = true;
+        List<String> allowed = MenuCanonicalizer.CANONICAL_MENUS;
+        for (int from = 0; from < allowed.size(); from += menusPerRequest) {
+            List<String> menus = allowed.subList(from, Math.min(allowed.size(), from + menusPerRequest));
+            beforeBatch.run();
+            try {
+                byMenu.putAll(requestTemplates(menus));
+            } catch (Exception e) {
+                // 이 묶음은 기본 문구로 채움
+                complete = false;
+                log.warn("[ChallengeTemplates] 템플릿 생성 실패 ({}개 메뉴). 기본 문구 사용: {}", menus.size(), e.toString());
+            }
+        }
+        byMenu = defaults(byMenu);
+        if (complete) {
+            try {
+                stringRedisTemplate.opsForValue().set(CACHE_PREFIX + weekStart,
+                        objectMapper.writeValueAsString(byMenu), CACHE_TTL);
+            } catch (Exception e) {
+                log.warn("[ChallengeTemplates] 템플릿 저장 실패: {}", e.toString());
+            }
+        }
+        // 일부가 기본 문구면 incomplete 로 메모리에만 둠 (prepare()/요청 경로가 다시 생성)
+        this.snapshot = new Snapshot(weekStart, byMenu, complete, System.currentTimeMillis());
+        log.info("[ChallengeTemplates] {} 주 템플릿 {}개 메뉴 / {}개 문구 준비 (complete={})",
+                weekStart, byMenu.size(), byMenu.values().stream().mapToInt(List::size).sum(), complete);
+    }
+
+    /**
+     * 사용자 한 명의 이번 주 챌린지 3개 (서로 다른 메뉴)
+     * @param recentMenus 지난주에 받았던 메뉴 (가중치 낮춤)
+     */
+    public List<Template> sample(LocalDate weekStart, Collection<String> recentMenus) {
+        Map<String, List<Template>> byMenu = templatesFor(weekStart);
+        List<String> menus = new ArrayList<>(byMenu.keySet());
+        double[] weights = new double[menus.size()];
+        for (int i = 0; i < menus.size(); i++) {
+            String menu = menus.get(i);
+            double weight = byMenu.get(menu).size();
+            weights[i] = recentMenus.contains(menu) ? weight * recentPenalty : weight;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Template> picked = new ArrayList<>(PICK);
+        for (int n = 0; n < PICK && n < menus.size(); n++) {
+            double total = 0;
+            for (double w : weights) {
+                total += w;
+            }
+            double r = random.nextDouble() * total;
+            int chosen = -1;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] <= 0) {
+                    continue;
+                }
+                chosen = i; // 부동소수 오차로 끝까지 가면 마지막 후보
+                r -= weights[i];
+                if (r < 0) {
+                    break;
+                }
+            }
+            if (chosen < 0) {
+                break;
+            }
+            List<Template> variants = byMenu.get(menus.get(chosen));
+            picked.add(variants.get(random.nextInt(variants.size())));
+            weights[chosen] = 0; // 같은 메뉴 중복 방지
+        }
+        return picked;
+    }
+
+    // 메모리 → Redis → (둘 다 없으면) 기본 문구로 응답하고 백그라운드 생성 (요청 스레드는 LLM 을 기다리지 않음)
+    // 불완전한 풀은 그대로 쓰되 incomplete-retry-interval 이 지났으면 백그라운드 재생성
+    private Map<String, List<Template>> templatesFor(LocalDate weekStart) {
+        Snapshot current = loaded(weekStart);
+        if (current != null) {
+            if (!current.complete()
+                    && System.currentTimeMillis() - current.builtAtMillis() >= incompleteRetryInterval.toMillis()) {
+                refreshInBackground(weekStart);
+            }
+            return current.byMenu();
+        }
+        refreshInBackground(weekStart);
+        return defaults(new LinkedHashMap<>());
+    }
+
+    private void refreshInBackground(LocalDate weekStart) {
+        refreshAsync(weekStart, () -> { }).exceptionally(e -> {
+            log.warn("[ChallengeTemplates] 백그라운드 생성 실패: {}", e.toString());
+            return null;
+        });
+    }
+
+    // 메모리의 불완전한 풀보다 다른 인스턴스가 Redis 에 저장한 완성된 풀을 우선
+    private Snapshot loaded(LocalDate weekStart) {
+        Snapshot current = this.snapshot;
+        if (current == null || !current.weekStart().equals(weekStart)) {
+            current = null;
+        } else if (current.complete()) {
+            return current;
+        }
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(CACHE_PREFIX + weekStart);
+            if (cached != null) {
+                Map<String, List<Template>> byMenu = objectMapper.readValue(cached,
+                        new TypeReference<LinkedHashMap<String, List<Template>>>() {});
+                // Redis 에는 완성된 풀만 저장됨
+                Snapshot restored = new Snapshot(weekStart, byMenu, true, System.currentTimeMillis());
+                this.snapshot = restored;
+                return restored;
+            }
+        } catch (Exception e) {
+            log.warn("[ChallengeTemplates] Redis 조회 실패: {}", e.getMessage());
+        }
+        return current;
+    }
+
+    // 메뉴 묶음 하나의 문구 요청 (응답이 커서 chat 기본 타임아웃 대신 request-timeout)
+    private Map<String, List<Template>> requestTemplates(List<String> allowed) throws Exception {
+        String allowedJson = "[\"" + String.join("\",\"", allowed) + "\"]";
+        String prompt = """
+        아래 allowedMenus 의 메뉴마다 챌린지 문구를 %d개씩 JSON으로 반환해.
+        스키마:
+        {
+          "challenges": [
+            { "title": "string", "targetMenu": "string", "description": "string" }
+          ]
+        }
+        제약:
+        - allowedMenus 밖 메뉴 사용 금지, targetMenu 는 allowedMenus 표기 그대로
+        - 주류 추천 금지
+        - 같은 메뉴의 문구끼리는 서로 다르게
+        - 응답은 JSON 한 덩어리만 (코드블록/주석/설명 금지)
+        - title은 {menu} 먹기 형식을 권장 (회피형이 아니라면)
+        allowedMenus: %s
+        """.formatted(variantsPerMenu, allowedJson);
+
+        String raw = llmGateway.requestBatchCompletion(SYSTEM_PROMPT, prompt, requestTimeout);
+        String cleaned = raw.replaceAll("(?s)```json|```", "").trim();
+        ChallengeAiResponse parsed = objectMapper.readValue(cleaned, ChallengeAiResponse.class);
+
+        // 검증: 허용 메뉴만, 메뉴당 최대 variants-per-menu 개, 같은 제목 중복 제거
+        Map<String, List<Template>> byMenu = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        if (parsed.getChallenges() != null) {
+            for (ChallengeAiResponse.Item it : parsed.getChallenges()) {
+                String menu = it.getTargetMenu() == null ? null : it.getTargetMenu().trim();
+                if (menu == null || !allowed.contains(menu)) {
+                    continue;
+                }
+                List<Template> variants = byMenu.computeIfAbsent(menu, m -> new ArrayList<>());
+                String title = nvl(it.getTitle(), menu + " 먹기");
+                if (variants.size() >= variantsPerMenu || !seen.add(menu + "|" + title)) {
+                    continue;
+                }
+                variants.add(new Template(menu, title, nvl(it.getDescription(), "가볍게 도전!")));
+            }
+        }
+        return byMenu;
+    }
+
+    // 허용 메뉴 순서로 정렬하고, 빠진 메뉴는 "{메뉴} 먹기 / 가볍게 도전!" 기본 템플릿
+    private static Map<String, List<Template>> defaults(Map<String, List<Template>> byMenu) {
+        Map<String, List<Template>> result = new LinkedHashMap<>();
+        for (String menu : MenuCanonicalizer.CANONICAL_MENUS) {
+            List<Template> variants = byMenu.getOrDefault(menu, List.of());
+            result.put(menu, variants.isEmpty() ? List.of(new Template(menu, menu + " 먹기", "가볍게 도전!")) : variants);
+        }
+        return result;
+    }
+
+    private static String nvl(String s, String def) {
+        return (s == null || s.isBlank()) ? def : s.trim();
+    }
+}
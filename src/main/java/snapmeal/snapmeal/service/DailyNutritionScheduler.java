@@ -0,0 +1,39 @@
+package snapmeal.snapmeal.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.ClusterJobRunner;
+
+/**
+ * 하루 영양 합계 재계산
+ * - 매일 03:30 (KST): 최근 N일(오늘 포함)을 원본에서 다시 집계해 어긋난 합계를 바로잡음
+ * - 인스턴스가 여럿이어도 한 노드에서만 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyNutritionScheduler {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final DailyNutritionTotalsService dailyNutritionTotalsService;
+    private final ClusterJobRunner clusterJobRunner;
+
+    @Value("${daily-nutrition.reconcile-days:3}")
+    private int reconcileDays;
+
+    @Scheduled(cron = "${daily-nutrition.reconcile-cron:0 30 3 * * *}", zone = "Asia/Seoul")
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now(KST);
+        // 실패는 ClusterJobRunner 가 로그로 남김
+        clusterJobRunner.runOnce("dailyNutritionReconcile", today.toString(), shard -> {
+            int repaired = dailyNutritionTotalsService.reconcile(today.minusDays(reconcileDays - 1L), today.plusDays(1));
+            log.info("[DailyNutrition] 재계산 완료: 최근 {}일, 수정 {}건", reconcileDays, repaired);
+        });
+    }
+}
@@ -0,0 +1,344 @@
+package snapmeal.snapmeal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.DailyNutritionTotals;
+import snapmeal.snapmeal.domain.Meals;
+import snapmeal.snapmeal.domain.NutritionAnalysis;
+import snapmeal.snapmeal.repository.DailyNutritionTotalsRepository;
+import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
+
+/**
+ * 하루 영양 합계 저장소 (daily_nutrition_totals 테이블 + Redis 해시)
+ * - 식단 저장/삭제 트랜잭션 안에서 테이블에 증감분을 더하고, 커밋 후 Redis 해시는 지움 (다음 조회 때 테이블에서 채움)
+ * - 조회는 Redis → 테이블 순서로 한 건만 읽음. 테이블에도 없으면 원본을 한 번 집계해 채움
+ * - 채우기 경합 방지: 키마다 epoch 카운터({key}:epoch)를 두고, 쓰기는 커밋 후 epoch 증가 + 해시 삭제,
+ *   조회는 DB 를 읽기 전 epoch 를 기억했다가 그 사이 바뀌지 않았고 해시가 없을 때만 채움 (Lua 한 번)
+ *   → 커밋 전 값을 읽은 조회가 커밋 후에 옛 값을 써 넣지 못함
+ * - 재계산(reconcile)은 테이블을 고친 키와, 캐시 값이 원본과 다른 키의 해시를 지움
+ */
+@Slf4j
+@Service
+public class DailyNutritionTotalsService {
+
+    private static final String CACHE_PREFIX = "dailyNutrition:";
+    private static final Duration CACHE_TTL = Duration.ofDays(2);
+
+    // epoch 가 조회 시작 때와 같고 해시가 아직 없을 때만 채움
+    // KEYS: 해시, epoch / ARGV: 기대 epoch, ttlMillis, field1, value1, ...
+    private static final RedisScript<Long> FILL_IF_CURRENT = new DefaultRedisScript<>("""
+            local epoch = redis.call('GET', KEYS[2]) or '0'
+            if epoch ~= ARGV[1] or redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            for i = 3, #ARGV, 2 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // 쓰기 커밋 후: epoch 증가(진행 중인 채우기 무효화) + 해시 삭제
+    // KEYS: 해시, epoch / ARGV: ttlMillis
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return redis.call('UNLINK', KEYS[1])
+            """, Long.class);
+
+    private final DailyNutritionTotalsRepository dailyNutritionTotalsRepository;
+    private final NutritionAnalysisRepository nutritionAnalysisRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate fillTransaction;
+    private final Counter driftCounter;
+
+    public DailyNutritionTotalsService(DailyNutritionTotalsRepository dailyNutritionTotalsRepository,
+                                       NutritionAnalysisRepository nutritionAnalysisRepository,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry) {
+        this.dailyNutritionTotalsRepository = dailyNutritionTotalsRepository;
+        this.nutritionAnalysisRepository = nutritionAnalysisRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        // 읽기 전용 트랜잭션 안에서 조회돼도 빈 행 채우기는 별도 트랜잭션으로 커밋
+        this.fillTransaction = new TransactionTemplate(transactionManager);
+        this.fillTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.driftCounter = Counter.builder("daily_nutrition.reconcile.drift").register(meterRegistry);
+    }
+
+    /** 식단 저장 시 호출 (호출 측 트랜잭션에 참여) */
+    @Transactional
+    public void onMealAdded(Meals meal) {
+        applyDelta(meal, 1);
+    }
+
+    /** 식단 삭제 시 호출. 영양 분석을 지우기 전에 호출해야 함 */
+    @Transactional
+    public void onMealRemoved(Meals meal) {
+        applyDelta(meal, -1);
+    }
+
+    public DailyNutritionTotalsDto get(Long userId, LocalDate date) {
+        String key = cacheKey(userId, date);
+        String epoch = null;
+        try {
+            Map<Object, Object> cached = stringRedisTemplate.opsForHash().entries(key);
+            if (!cached.isEmpty()) {
+                return fromHash(userId, date, cached);
+            }
+            // DB 를 읽기 전의 epoch (채울 때 그 사이 쓰기가 있었는지 확인)
+            String current = stringRedisTemplate.opsForValue().get(epochKey(key));
+            epoch = current == null ? "0" : current;
+        } catch (Exception e) {
+            log.warn("[DailyNutrition] Redis 조회 실패, DB 사용: {}", e.getMessage());
+        }
+
+        DailyNutritionTotalsDto totals = dailyNutritionTotalsRepository.findByUserIdAndMealDate(userId, date)
+                .map(this::toDto)
+                .orElseGet(() -> fillTransaction.execute(status -> loadFromSource(userId, date)));
+
+        if (epoch != null) {
+            fill(key, epoch, totals);
+        }
+        return totals;
+    }
+
+    /**
+     * [from, to) 구간을 원본에서 다시 집계해 어긋난 행을 바로잡음
+     * @return 수정한 행 수
+     */
+    @Transactional
+    public int reconcile(LocalDate from, LocalDate to) {
+        Map<String, DailyNutritionTotalsDto> source = nutritionAnalysisRepository
+                .sumDailyTotals(from.atStartOfDay(), to.atStartOfDay()).stream()
+                .collect(Collectors.toMap(t -> cacheKey(t.getUserId(), t.getMealDate()), Function.identity()));
+        Map<String, DailyNutritionTotalsDto> stored = new HashMap<>();
+        for (DailyNutritionTotals row : dailyNutritionTotalsRepository
+                .findAllByMealDateGreaterThanEqualAndMealDateLessThan(from, to)) {
+            stored.put(cacheKey(row.getUserId(), row.getMealDate()), toDto(row));
+        }
+
+        int repaired = 0;
+        Map<String, DailyNutritionTotalsDto> expectedByKey = new HashMap<>(source);
+        for (Map.Entry<String, DailyNutritionTotalsDto> entry : source.entrySet()) {
+            DailyNutritionTotalsDto current = stored.get(entry.getKey());
+            DailyNutritionTotalsDto expected = entry.getValue();
+            if (current == null || !current.sameTotals(expected)) {
+                overwrite(expected);
+                repaired++;
+            }
+        }
+        // 원본에는 없는데 값이 남아 있는 행은 0 으로
+        for (Map.Entry<String, DailyNutritionTotalsDto> entry : stored.entrySet()) {
+            DailyNutritionTotalsDto current = entry.getValue();
+            if (!source.containsKey(entry.getKey())) {
+                DailyNutritionTotalsDto empty = DailyNutritionTotalsDto.empty(current.getUserId(), current.getMealDate());
+                expectedByKey.put(entry.getKey(), empty);
+                if (!current.isEmpty()) {
+                    overwrite(empty);
+                    repaired++;
+                }
+            }
+        }
+
+        // 테이블은 맞지만 Redis 해시만 어긋난 키도 지움
+        int staleCache = invalidateDriftedCache(expectedByKey);
+
+        if (repaired > 0 || staleCache > 0) {
+            driftCounter.increment(repaired + staleCache);
+            log.warn("[DailyNutrition] {} ~ {} 재계산: 테이블 {}건 수정, 캐시 {}건 삭제",
+                    from, to.minusDays(1), repaired, staleCache);
+        }
+        return repaired + staleCache;
+    }
+
+    // 캐시 해시를 파이프라인으로 한 번에 읽어 원본 합계와 다르면 커밋 후 삭제. 삭제 대상 수 반환
+    private int invalidateDriftedCache(Map<String, DailyNutritionTotalsDto> expectedByKey) {
+        List<String> keys = List.copyOf(expectedByKey.keySet());
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> cached;
+        try {
+            cached = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.hashCommands().hGetAll(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[DailyNutrition] 재계산 중 캐시 확인 실패: {}", e.getMessage());
+            return 0;
+        }
+        int drifted = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (!(cached.get(i) instanceof Map<?, ?> hash) || hash.isEmpty()) {
+                continue;
+            }
+            DailyNutritionTotalsDto expected = expectedByKey.get(keys.get(i));
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> fields = (Map<Object, Object>) hash;
+            if (!fromHash(expected.getUserId(), expected.getMealDate(), fields).sameTotals(expected)) {
+                String key = keys.get(i);
+                afterCommit(() -> invalidate(key));
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    private void applyDelta(Meals meal, int sign) {
+        NutritionAnalysis n = meal.getNutrition();
+        if (n == null || meal.getMealDate() == null) {
+            return; // 사진/영양 없는 식단은 합계에 영향 없음
+        }
+        Long userId = meal.getUser().getId();
+        LocalDate date = meal.getMealDate().toLocalDate();
+
+        long calories = sign * (long) nz(n.getCalories());
+        double protein = sign * nz(n.getProtein());
+        double carbs = sign * nz(n.getCarbs());
+        double sugar = sign * nz(n.getSugar());
+        double fat = sign * nz(n.getFat());
+        double sodium = sign * nz(n.getSodium());
+
+        dailyNutritionTotalsRepository.addDelta(userId, date, calories, protein, carbs, sugar, fat, sodium, sign);
+
+        String key = cacheKey(userId, date);
+        afterCommit(() -> invalidate(key));
+    }
+
+    private DailyNutritionTotalsDto loadFromSource(Long userId, LocalDate date) {
+        DailyNutritionTotalsDto totals = nutritionAnalysisRepository
+                .sumDailyTotalsByUser(userId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()).stream()
+                .findFirst()
+                .orElseGet(() -> DailyNutritionTotalsDto.empty(userId, date));
+        dailyNutritionTotalsRepository.overwrite(userId, date, totals.getCalories(), totals.getProtein(),
+                totals.getCarbs(), totals.getSugar(), totals.getFat(), totals.getSodium(), totals.getMealCount());
+        return totals;
+    }
+
+    private void overwrite(DailyNutritionTotalsDto totals) {
+        dailyNutritionTotalsRepository.overwrite(totals.getUserId(), totals.getMealDate(), totals.getCalories(),
+                totals.getProtein(), totals.getCarbs(), totals.getSugar(), totals.getFat(), totals.getSodium(),
+                totals.getMealCount());
+        String key = cacheKey(totals.getUserId(), totals.getMealDate());
+        afterCommit(() -> invalidate(key));
+    }
+
+    private void fill(String key, String epoch, DailyNutritionTotalsDto totals) {
+        List<String> args = new ArrayList<>();
+        args.add(epoch);
+        args.add(String.valueOf(CACHE_TTL.toMillis()));
+        toHash(totals).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        try {
+            stringRedisTemplate.execute(FILL_IF_CURRENT, List.of(key, epochKey(key)), args.toArray());
+        } catch (Exception e) {
+            log.warn("[DailyNutrition] Redis 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void invalidate(String key) {
+        try {
+            stringRedisTemplate.execute(INVALIDATE, List.of(key, epochKey(key)), String.valueOf(CACHE_TTL.toMillis()));
+        } catch (Exception e) {
+            // epoch 를 못 올렸으면 해시라도 지움 (진행 중인 채우기가 옛 값을 쓸 수 있어 TTL 까지 어긋날 수 있음)
+            log.warn("[DailyNutrition] Redis 무효화 실패, 키 삭제 재시도: {}", e.getMessage());
+            deleteQuietly(key);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (Exception e) {
+            log.warn("[DailyNutrition] Redis 키 삭제 실패: {} ({})", key, e.getMessage());
+        }
+    }
+
+    private static String cacheKey(Long userId, LocalDate date) {
+        return CACHE_PREFIX + userId + ":" + date;
+    }
+
+    private static String epochKey(String cacheKey) {
+        return cacheKey + ":epoch";
+    }
+
+    private DailyNutritionTotalsDto toDto(DailyNutritionTotals row) {
+        return new DailyNutritionTotalsDto(row.getUserId(), row.getMealDate(), row.getCalories(),
+                row.getProtein(), row.getCarbs(), row.getSugar(), row.getFat(), row.getSodium(), row.getMealCount());
+    }
+
+    private static Map<String, String> toHash(DailyNutritionTotalsDto totals) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put("calories", String.valueOf(totals.getCalories()));
+        hash.put("protein", String.valueOf(totals.getProtein()));
+        hash.put("carbs", String.valueOf(totals.getCarbs()));
+        hash.put("sugar", String.valueOf(totals.getSugar()));
+        hash.put("fat", String.valueOf(totals.getFat()));
+        hash.put("sodium", String.valueOf(totals.getSodium()));
+        hash.put("mealCount", String.valueOf(totals.getMealCount()));
+        return hash;
+    }
+
+    private static DailyNutritionTotalsDto fromHash(Long userId, LocalDate date, Map<Object, Object> hash) {
+        return DailyNutritionTotalsDto.builder()
+                .userId(userId)
+                .mealDate(date)
+                // HINCRBYFLOAT 를 거치면 "300" 도 실수 표기가 될 수 있어 double 로 읽고 반올림
+                .calories(Math.round(parse(hash.get("calories"))))
+                .protein(parse(hash.get("protein")))
+                .carbs(parse(hash.get("carbs")))
+                .sugar(parse(hash.get("sugar")))
+                .fat(parse(hash.get("fat")))
+                .sodium(parse(hash.get("sodium")))
+                .mealCount(Math.round(parse(hash.get("mealCount"))))
+                .build();
+    }
+
+    private static double parse(Object value) {
+        return value == null ? 0.0 : Double.parseDouble(value.toString());
+    }
+
+    private static double nz(Number value) {
+        return value == null ? 0.0 : value.doubleValue();
+    }
+}
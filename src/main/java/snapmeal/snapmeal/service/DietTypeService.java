@@ -1,11 +1,12 @@
 package snapmeal.snapmeal.service;
 
 
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import snapmeal.snapmeal.global.LlmGateway;
 import snapmeal.snapmeal.global.util.OpenAiConverter;
-import snapmeal.snapmeal.global.OpenAiClient;
 import snapmeal.snapmeal.web.dto.DietTypeRequestDto;
 import snapmeal.snapmeal.web.dto.DietTypeResponseDto;
 
@@ -15,7 +16,9 @@ import snapmeal.snapmeal.web.dto.DietTypeResponseDto;
 @RequiredArgsConstructor
 public class DietTypeService {
 
-    private final OpenAiClient openAiClient;
+    private static final String ANALYSIS_FAILED = "#분석 실패";
+
+    private final LlmGateway llmGateway;
 
 
 
@@ -23,10 +26,19 @@ public class DietTypeService {
         try {
             String systemPrompt = OpenAiConverter.buildSystemPrompt();
             String userPrompt = OpenAiConverter.buildUserPrompt(request.getSelectedTypes());
-            String dietType = openAiClient.requestCompletion(systemPrompt, userPrompt);
+            String dietType = llmGateway.requestCompletion(systemPrompt, userPrompt);
             return new DietTypeResponseDto(dietType);
         } catch (Exception e) {
-            return new DietTypeResponseDto("#분석 실패");
+            return new DietTypeResponseDto(ANALYSIS_FAILED);
         }
     }
+
+    // 컨트롤러용 비동기 버전 (서블릿 스레드를 OpenAI 응답까지 붙잡지 않음)
+    public CompletableFuture<DietTypeResponseDto> analyzeDietTypeAsync(DietTypeRequestDto request) {
+        String systemPrompt = OpenAiConverter.buildSystemPrompt();
+        String userPrompt = OpenAiConverter.buildUserPrompt(request.getSelectedTypes());
+        return llmGateway.requestCompletionAsync(systemPrompt, userPrompt)
+                .thenApply(DietTypeResponseDto::new)
+                .exceptionally(e -> new DietTypeResponseDto(ANALYSIS_FAILED));
+    }
 }
@@ -1,50 +1,58 @@
 package snapmeal.snapmeal.service;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import snapmeal.snapmeal.global.CallMetrics;
+import snapmeal.snapmeal.global.util.MultipartInputStreamFileResource;
+import snapmeal.snapmeal.global.util.ProcessedImage;
 import snapmeal.snapmeal.web.dto.PredictionResponseDto;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 public class FastApiProxyService {
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final CallMetrics callMetrics;
     private final ObjectMapper objectMapper = new ObjectMapper(); // JSON 파싱용
 
-    public PredictionResponseDto sendImageUrlToFastApi(String imageUrl) throws IOException {
-        // 이미지 URL을 다운로드해서 파일로 저장
-        File file = downloadImageFromUrl(imageUrl);
-
-        // 파일을 Multipart로 보내기
-        String fastApiUrl = "http://api.snapmeal.store/predict";
+    @Value("${fastapi.predict-url:http://api.snapmeal.store/predict}")
+    private String fastApiUrl;
+
+    // 소켓 타임아웃: 스레드 인터럽트로는 블로킹 I/O 가 풀리지 않으므로 연결 단에서도 끊어줌
+    public FastApiProxyService(@Value("${fastapi.connect-timeout-seconds:3}") long connectTimeoutSeconds,
+                               @Value("${fastapi.read-timeout-seconds:20}") long readTimeoutSeconds,
+                               CallMetrics callMetrics) {
+        this.callMetrics = callMetrics;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(connectTimeoutSeconds));
+        requestFactory.setReadTimeout(Duration.ofSeconds(readTimeoutSeconds));
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
 
+    /**
+     * 전처리된 이미지를 그대로 FastAPI 로 전달 (S3 URL 에서 다시 내려받지 않음)
+     * - 이미지 버퍼에서 새 스트림을 열어 바로 전송
+     * - 본문은 스트림으로 흘려보내므로 파일 전체를 힙에 복사하지 않음
+     */
+    public PredictionResponseDto sendImageToFastApi(ProcessedImage image) throws IOException {
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("file", new FileSystemResource(file));
+        body.add("file", new MultipartInputStreamFileResource(
+                image.openStream(), image.getFilename(), image.getSize()));
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
         HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(
-                fastApiUrl,
-                requestEntity,
-                String.class
-        );
-
-        // 파일 삭제 (임시파일 정리)
-        file.delete();
+        ResponseEntity<String> response = callMetrics.external("fastapi", "predict",
+                () -> restTemplate.postForEntity(fastApiUrl, requestEntity, String.class));
 
         if (!response.getStatusCode().is2xxSuccessful()) {
             throw new RuntimeException("FastAPI Prediction server error: " + response.getStatusCode());
@@ -52,19 +60,4 @@ public class FastApiProxyService {
 
         return objectMapper.readValue(response.getBody(), PredictionResponseDto.class);
     }
-
-    private File downloadImageFromUrl(String imageUrl) throws IOException {
-        URL url = new URL(imageUrl);
-        File tempFile = File.createTempFile("upload-", ".jpg"); // 임시 파일 생성
-        try (InputStream in = url.openStream();
-             FileOutputStream fos = new FileOutputStream(tempFile)) {
-            // 버퍼 이용해서 복사
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                fos.write(buffer, 0, bytesRead);
-            }
-        }
-        return tempFile;
-    }
 }
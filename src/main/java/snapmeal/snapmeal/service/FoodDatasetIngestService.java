@@ -0,0 +1,294 @@
+package snapmeal.snapmeal.service;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.FoodNutritionItem;
+import snapmeal.snapmeal.global.ClusterJobRunner;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
+import snapmeal.snapmeal.global.FoodApiClient;
+import snapmeal.snapmeal.repository.FoodNutritionItemRepository;
+import snapmeal.snapmeal.web.dto.FoodApiResponseDto;
+import snapmeal.snapmeal.web.dto.FoodSearchDto;
+
+/**
+ * 식품영양성분 DB 적재 + 검색 인덱스 갱신
+ * - 기동 시: 로컬 테이블로 인덱스 생성. 테이블이 비어 있으면
+ *   food-index.fixture 가 지정된 경우(로컬/테스트) 그 CSV 로, 아니면 백그라운드로 첫 적재를 걸고 그동안 검색은 공공 API 로 폴백
+ * - 매주 (food-index.ingest-cron): 공공 API 전체를 페이지 단위로 받아 food_code 기준 upsert
+ *   적재는 ClusterJobRunner 로 클러스터에서 한 노드만, 끝나면 foodIndexReloads 채널로 알려 모든 노드가 인덱스 교체
+ * - 페이지마다 트랜잭션을 따로 잡아 한 페이지 실패가 전체 적재를 되돌리지 않음
+ */
+@Slf4j
+@Component
+public class FoodDatasetIngestService implements MessageListener {
+
+    public static final String RELOAD_CHANNEL = "foodIndexReloads";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final FoodApiClient foodApiClient;
+    private final FoodNutritionItemRepository foodNutritionItemRepository;
+    private final FoodSearchIndex foodSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceLoader resourceLoader;
+    private final ClusterJobRunner clusterJobRunner;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Executor foodIngestTaskExecutor;
+
+    private final int pageSize;
+    private final String fixtureLocation;
+
+    public FoodDatasetIngestService(FoodApiClient foodApiClient,
+                                    FoodNutritionItemRepository foodNutritionItemRepository,
+                                    FoodSearchIndex foodSearchIndex,
+                                    TransactionTemplate transactionTemplate,
+                                    ResourceLoader resourceLoader,
+                                    ClusterJobRunner clusterJobRunner,
+                                    StringRedisTemplate stringRedisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    @Qualifier("foodIngestTaskExecutor") Executor foodIngestTaskExecutor,
+                                    @Value("${food-index.ingest-page-size:100}") int pageSize,
+                                    @Value("${food-index.fixture:}") String fixtureLocation) {
+        this.foodApiClient = foodApiClient;
+        this.foodNutritionItemRepository = foodNutritionItemRepository;
+        this.foodSearchIndex = foodSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.resourceLoader = resourceLoader;
+        this.clusterJobRunner = clusterJobRunner;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.foodIngestTaskExecutor = foodIngestTaskExecutor;
+        this.pageSize = pageSize;
+        this.fixtureLocation = fixtureLocation;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexOnStartup() {
+        try {
+            if (!reloadIndex()) {
+                // 적재는 오래 걸리므로 기동을 막지 않음. 끝나면 foodIndexReloads 로 모든 노드가 인덱스 교체
+                foodIngestTaskExecutor.execute(this::bootstrapIngest);
+            }
+        } catch (Exception e) {
+            // 인덱스가 없어도 검색은 원격 API 로 폴백되므로 기동은 계속
+            log.error("[FoodIndex] 기동 시 인덱스 생성 실패", e);
+        }
+    }
+
+    /** 로컬 테이블이 빈 채로 뜬 경우의 첫 적재 (클러스터에서 한 노드만) */
+    void bootstrapIngest() {
+        clusterJobRunner.runOnce("foodDatasetIngest", "bootstrap", shard -> {
+            if (ingestAll(shard) > 0) {
+                publishReload();
+            }
+        });
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RELOAD_CHANNEL));
+    }
+
+    /** 적재는 한 노드만 (실패하면 완료 표시 없이 남아 ClusterJobRunner 가 다시 시도) */
+    @Scheduled(cron = "${food-index.ingest-cron:0 0 4 * * SUN}", zone = "Asia/Seoul")
+    public void scheduledIngest() {
+        clusterJobRunner.runOnce("foodDatasetIngest", LocalDate.now(KST).toString(), shard -> {
+            if (ingestAll(shard) > 0) {
+                publishReload();
+            }
+        });
+    }
+
+    /** 적재한 노드 포함 모든 노드가 로컬 테이블로 인덱스를 다시 만듦 */
+    public void publishReload() {
+        stringRedisTemplate.convertAndSend(RELOAD_CHANNEL, String.valueOf(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            reloadIndex();
+        } catch (Exception e) {
+            log.error("[FoodIndex] 인덱스 교체 실패", e);
+        }
+    }
+
+    /**
+     * 공공 API 전체를 로컬 테이블로 복사. 반영한 건수 반환
+     * - 리스보다 오래 걸리므로 페이지마다 리스 연장, 리스를 잃으면 예외로 중단 (완료 표시 없이 남아 새 보유자가 다시 적재)
+     * - 페이지 upsert 트랜잭션은 fence() 로 확인 → 리스를 잃은 뒤 늦게 도착한 쓰기는 롤백
+     */
+    public int ingestAll(JobShard shard) {
+        int page = 1;
+        int ingested = 0;
+        int totalCount = Integer.MAX_VALUE;
+
+        while ((long) (page - 1) * pageSize < totalCount) {
+            if (Thread.currentThread().isInterrupted()) {
+                // 종료 중: 완료 표시 없이 멈춰 다음 기동/회차에 다시 적재
+                throw new IllegalStateException("식품 DB 적재 중단(인터럽트): page=" + page);
+            }
+            if (!shard.checkLease()) {
+                throw new IllegalStateException("식품 DB 적재 리스 상실: page=" + page);
+            }
+            FoodApiResponseDto response = foodApiClient.fetch(null, page, pageSize);
+            if (response == null || response.getBody() == null || response.getBody().getRows() == null
+                    || response.getBody().getRows().isEmpty()) {
+                break;
+            }
+            totalCount = response.getBody().getTotalCount();
+
+            List<FoodNutritionItem> items = response.getBody().getRows().stream()
+                    .filter(row -> row.getFoodCode() != null && row.getName() != null)
+                    .map(this::toItem)
+                    .toList();
+            Integer saved = transactionTemplate.execute(status -> {
+                shard.fence();
+                return upsert(items);
+            });
+            ingested += saved == null ? 0 : saved;
+            page++;
+        }
+
+        log.info("[FoodIndex] 공공 API 적재 완료: {}건 (totalCount={})", ingested, totalCount);
+        return ingested;
+    }
+
+    /**
+     * 로컬 테이블(비어 있으면 지정된 fixture)로 인덱스 재생성
+     * @return 색인할 데이터가 있었으면 true (false 면 인덱스를 건드리지 않음)
+     */
+    public boolean reloadIndex() {
+        List<FoodSearchDto> foods = foodNutritionItemRepository.findAll().stream()
+                .map(this::toDto)
+                .toList();
+        if (foods.isEmpty()) {
+            foods = loadFixture();
+            if (foods.isEmpty()) {
+                log.warn("[FoodIndex] 로컬 테이블이 비어 있음. 적재 전까지 검색은 공공 API 로 폴백");
+                return false;
+            }
+            log.info("[FoodIndex] 로컬 테이블이 비어 있어 fixture 로 인덱스 생성: {}", fixtureLocation);
+        }
+        foodSearchIndex.rebuild(foods);
+        return true;
+    }
+
+    private int upsert(List<FoodNutritionItem> items) {
+        // 같은 페이지에 같은 코드가 두 번 오면 마지막 값 사용
+        Map<String, FoodNutritionItem> incoming = items.stream()
+                .collect(Collectors.toMap(FoodNutritionItem::getFoodCode, Function.identity(), (a, b) -> b));
+        Map<String, FoodNutritionItem> existing = foodNutritionItemRepository.findAllByFoodCodeIn(incoming.keySet())
+                .stream()
+                .collect(Collectors.toMap(FoodNutritionItem::getFoodCode, Function.identity()));
+
+        List<FoodNutritionItem> toInsert = new ArrayList<>();
+        incoming.forEach((code, item) -> {
+            FoodNutritionItem current = existing.get(code);
+            if (current != null) {
+                current.updateFrom(item); // dirty checking
+            } else {
+                toInsert.add(item);
+            }
+        });
+        foodNutritionItemRepository.saveAll(toInsert);
+        return incoming.size();
+    }
+
+    private List<FoodSearchDto> loadFixture() {
+        if (fixtureLocation == null || fixtureLocation.isBlank()) {
+            return List.of();
+        }
+        Resource resource = resourceLoader.getResource(fixtureLocation);
+        if (!resource.exists()) {
+            log.warn("[FoodIndex] fixture 파일 없음: {}", fixtureLocation);
+            return List.of();
+        }
+
+        List<FoodSearchDto> foods = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            // 형식: food_code,name,kcal,carbo,protein,fat,sugar,sodium (첫 줄은 헤더)
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                foods.add(FoodSearchDto.builder()
+                        .name(cols[1].trim())
+                        .kcal(parseDouble(cols[2]))
+                        .carbo(parseDouble(cols[3]))
+                        .protein(parseDouble(cols[4]))
+                        .fat(parseDouble(cols[5]))
+                        .sugar(parseDouble(cols[6]))
+                        .sodium(parseDouble(cols[7]))
+                        .build());
+            }
+        } catch (Exception e) {
+            log.error("[FoodIndex] fixture 읽기 실패: {}", fixtureLocation, e);
+        }
+        return foods;
+    }
+
+    private FoodNutritionItem toItem(FoodApiResponseDto.FoodApiRowDto row) {
+        return FoodNutritionItem.builder()
+                .foodCode(row.getFoodCode())
+                .name(row.getName())
+                .kcal(parseDouble(row.getKcal()))
+                .carbo(parseDouble(row.getCarbo()))
+                .protein(parseDouble(row.getProtein()))
+                .fat(parseDouble(row.getFat()))
+                .sugar(parseDouble(row.getSugar()))
+                .sodium(parseDouble(row.getSodium()))
+                .build();
+    }
+
+    private FoodSearchDto toDto(FoodNutritionItem item) {
+        return FoodSearchDto.builder()
+                .name(item.getName())
+                .kcal(item.getKcal())
+                .carbo(item.getCarbo())
+                .protein(item.getProtein())
+                .fat(item.getFat())
+                .sugar(item.getSugar())
+                .sodium(item.getSodium())
+                .build();
+    }
+
+    private Double parseDouble(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
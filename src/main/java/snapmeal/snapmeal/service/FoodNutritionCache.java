@@ -0,0 +1,147 @@
+package snapmeal.snapmeal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.CallMetrics;
+import snapmeal.snapmeal.web.dto.NutritionRequestDto;
+
+/**
+ * 음식 목록 → 영양 추정치 2단계 캐시
+ * - L1: 프로세스 내 Caffeine (크기 제한 + TTL)
+ * - L2: Redis (인스턴스 간 공유, TTL)
+ * - 키: 음식 이름을 정규화(NFC, 공백 정리, 소문자)·정렬한 뒤 SHA-256 → 순서/띄어쓰기가 달라도 같은 키
+ *   (같은 음식이 여러 번 들어오면 양이 다르므로 중복은 유지)
+ */
+@Slf4j
+@Component
+public class FoodNutritionCache {
+
+    private static final String CACHE_PREFIX = "foodNutrition:";
+    private static final String CACHE_NAME = "foodNutrition";
+
+    private final RedisTemplate<String, NutritionRequestDto.TotalNutritionRequestDto> foodNutritionRedisTemplate;
+    private final Cache<String, NutritionRequestDto.TotalNutritionRequestDto> localCache;
+    private final Duration redisTtl;
+    private final CallMetrics callMetrics;
+
+    private final Counter localHit;
+    private final Counter redisHit;
+    private final Counter miss;
+
+    public FoodNutritionCache(RedisTemplate<String, NutritionRequestDto.TotalNutritionRequestDto> foodNutritionRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              CallMetrics callMetrics,
+                              @Value("${food-nutrition.cache.local-max-size:10000}") long localMaxSize,
+                              @Value("${food-nutrition.cache.local-ttl-minutes:60}") long localTtlMinutes,
+                              @Value("${food-nutrition.cache.redis-ttl-days:30}") long redisTtlDays) {
+        this.foodNutritionRedisTemplate = foodNutritionRedisTemplate;
+        this.redisTtl = Duration.ofDays(redisTtlDays);
+        this.callMetrics = callMetrics;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(localTtlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "foodNutritionLocal");
+        this.localHit = Counter.builder("food_nutrition.cache").tag("tier", "local").tag("result", "hit").register(meterRegistry);
+        this.redisHit = Counter.builder("food_nutrition.cache").tag("tier", "redis").tag("result", "hit").register(meterRegistry);
+        this.miss = Counter.builder("food_nutrition.cache").tag("tier", "all").tag("result", "miss").register(meterRegistry);
+    }
+
+    /** 캐시 조회. 돌려주는 값은 복사본이라 호출 측에서 nutritionId 를 세팅해도 캐시는 그대로 */
+    public Optional<NutritionRequestDto.TotalNutritionRequestDto> get(List<String> foodNames) {
+        String key = keyOf(foodNames);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        NutritionRequestDto.TotalNutritionRequestDto local = localCache.getIfPresent(key);
+        if (local != null) {
+            localHit.increment();
+            return Optional.of(copyOf(local));
+        }
+
+        try {
+            NutritionRequestDto.TotalNutritionRequestDto remote = callMetrics.cacheGet(CACHE_NAME,
+                    () -> foodNutritionRedisTemplate.opsForValue().get(key));
+            if (remote != null) {
+                redisHit.increment();
+                localCache.put(key, remote);
+                return Optional.of(copyOf(remote));
+            }
+        } catch (Exception e) {
+            log.warn("[FoodNutritionCache] Redis 조회 실패, OpenAI 로 진행: {}", e.getMessage());
+        }
+
+        miss.increment();
+        return Optional.empty();
+    }
+
+    public void put(List<String> foodNames, NutritionRequestDto.TotalNutritionRequestDto totals) {
+        String key = keyOf(foodNames);
+        if (key == null) {
+            return;
+        }
+        NutritionRequestDto.TotalNutritionRequestDto value = copyOf(totals);
+        localCache.put(key, value);
+        try {
+            callMetrics.cacheSet(CACHE_NAME, () -> foodNutritionRedisTemplate.opsForValue().set(key, value, redisTtl));
+        } catch (Exception e) {
+            log.warn("[FoodNutritionCache] Redis 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 정규화 + 정렬 + 해시. 유효한 음식 이름이 없으면 null (캐시하지 않음)
+    static String keyOf(List<String> foodNames) {
+        if (foodNames == null) {
+            return null;
+        }
+        List<String> normalized = foodNames.stream()
+                .filter(Objects::nonNull)
+                .map(name -> Normalizer.normalize(name, Normalizer.Form.NFC)
+                        .trim()
+                        .replaceAll("\\s+", " ")
+                        .toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .sorted()
+                .toList();
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return CACHE_PREFIX + sha256(String.join("\n", normalized));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static NutritionRequestDto.TotalNutritionRequestDto copyOf(NutritionRequestDto.TotalNutritionRequestDto source) {
+        return new NutritionRequestDto.TotalNutritionRequestDto(
+                source.getCalories(), source.getProtein(), source.getCarbs(),
+                source.getSugar(), source.getFat(), source.getSodium(), null
+        );
+    }
+}
@@ -10,12 +10,15 @@ import snapmeal.snapmeal.converter.NutritionConverter;
 import snapmeal.snapmeal.domain.Images;
 import snapmeal.snapmeal.domain.NutritionAnalysis;
 import snapmeal.snapmeal.domain.User;
-import snapmeal.snapmeal.global.OpenAiClient;
+import snapmeal.snapmeal.global.LlmGateway;
+import snapmeal.snapmeal.global.CallMetrics;
+import snapmeal.snapmeal.global.RedisKeyspace;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.handler.RecommendationHandler;
 import snapmeal.snapmeal.global.handler.UserHandler;
 import snapmeal.snapmeal.repository.ImageRepository;
 import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
 import snapmeal.snapmeal.web.dto.NutritionRequestDto;
 import snapmeal.snapmeal.global.util.OpenAiConverter;
 import snapmeal.snapmeal.global.util.AuthService;
@@ -25,53 +28,94 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class FoodNutritionService {
-    private final OpenAiClient openAiClient;
+    private final LlmGateway llmGateway;
     private final ImageRepository imagesRepository;
     private final AuthService authService;
     private final NutritionAnalysisRepository nutritionAnalysisRepository;
-    private static final String CACHE_PREFIX = "todayNutrition:";
+    private final FoodNutritionCache foodNutritionCache;
+    private final DailyNutritionTotalsService dailyNutritionTotalsService;
+    private static final String CACHE_NAMESPACE = "todayNutrition";  // 자정에 세대 번호로 한 번에 무효화
     private final RedisTemplate<String, TodayNutritionResponseDto> nutritionRedisTemplate;
-
-    @Transactional
-    public NutritionRequestDto.TotalNutritionRequestDto analyze(NutritionRequestDto.FoodNutritionRequestDto request) {
+    private final RedisKeyspace redisKeyspace;
+    private final CallMetrics callMetrics;
+
+    /**
+     * 음식 영양 분석 (비동기)
+     * - 사용자/이미지 조회는 요청 스레드에서 먼저 끝냄 (LLM 스레드에는 SecurityContext 가 없음)
+     * - OpenAI 호출은 LlmGateway 를 통해 비동기로, 저장은 응답을 받은 스레드에서 수행
+     * - 같은 음식 목록은 FoodNutritionCache 에서 바로 꺼내 OpenAI 호출 생략
+     * - 실패 시 기존과 동일하게 0 으로 채운 결과 반환
+     */
+    public CompletableFuture<NutritionRequestDto.TotalNutritionRequestDto> analyzeAsync(NutritionRequestDto.FoodNutritionRequestDto request) {
+        User currentUser;
+        Images image;
         try {
-            String systemPrompt = "당신은 영양 분석 전문가입니다.";
-            String userPrompt = OpenAiConverter.getFoodNutritionInfo(request.getFoodNames());
-            String response = openAiClient.requestCompletion(systemPrompt, userPrompt);
-            System.out.println("🥣 OpenAI 응답: " + response);
+            currentUser = authService.getCurrentUser();
+            image = imagesRepository.findById(request.getImageId())
+                    .orElseThrow(() -> new IllegalArgumentException("이미지를 찾을 수 없습니다."));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(emptyResult());
+        }
 
-            NutritionRequestDto.TotalNutritionRequestDto result = NutritionConverter.fromOpenAiJson(response);
+        var cached = foodNutritionCache.get(request.getFoodNames());
+        if (cached.isPresent()) {
+            try {
+                return CompletableFuture.completedFuture(saveAnalysis(request, cached.get(), currentUser, image));
+            } catch (Exception e) {
+                log.error("[FoodNutrition] 영양 분석 저장 실패", e);
+                return CompletableFuture.completedFuture(emptyResult());
+            }
+        }
 
-            User currentUser = authService.getCurrentUser();
-            Images image = imagesRepository.findById(request.getImageId())
-                    .orElseThrow(() -> new IllegalArgumentException("이미지를 찾을 수 없습니다."));
+        String systemPrompt = "당신은 영양 분석 전문가입니다.";
+        String userPrompt = OpenAiConverter.getFoodNutritionInfo(request.getFoodNames());
+
+        return llmGateway.requestCompletionAsync(systemPrompt, userPrompt)
+                .thenApply(response -> {
+                    log.debug("[FoodNutrition] OpenAI 응답: {}", response);
+                    // 파싱에 성공한 응답만 캐시 (실패하면 예외 → exceptionally 로 빠짐)
+                    NutritionRequestDto.TotalNutritionRequestDto totals = NutritionConverter.fromOpenAiJson(response);
+                    if (totals.getCalories() > 0) {
+                        foodNutritionCache.put(request.getFoodNames(), totals);
+                    }
+                    return saveAnalysis(request, totals, currentUser, image);
+                })
+                .exceptionally(e -> {
+                    log.error("[FoodNutrition] 영양 분석 실패", e);
+                    return emptyResult();
+                });
+    }
 
-            NutritionAnalysis analysis = NutritionAnalysis.builder()
-                    .image(image)
-                    .calories(result.getCalories())
-                    .protein(result.getProtein())
-                    .carbs(result.getCarbs())
-                    .sugar(result.getSugar())
-                    .fat(result.getFat())
-                    .sodium(result.getSodium())
-                    .foodNames(String.join(", ", request.getFoodNames()))
-                    .user(currentUser)
-                    .build();
+    private NutritionRequestDto.TotalNutritionRequestDto saveAnalysis(NutritionRequestDto.FoodNutritionRequestDto request,
+                                                                     NutritionRequestDto.TotalNutritionRequestDto result,
+                                                                     User currentUser, Images image) {
+        NutritionAnalysis analysis = NutritionAnalysis.builder()
+                .image(image)
+                .calories(result.getCalories())
+                .protein(result.getProtein())
+                .carbs(result.getCarbs())
+                .sugar(result.getSugar())
+                .fat(result.getFat())
+                .sodium(result.getSodium())
+                .foodNames(String.join(", ", request.getFoodNames()))
+                .user(currentUser)
+                .build();
 
-            NutritionAnalysis saved = nutritionAnalysisRepository.save(analysis);
-            result.setNutritionId(saved.getId());
-            return result;
+        NutritionAnalysis saved = nutritionAnalysisRepository.save(analysis);
+        result.setNutritionId(saved.getId());
+        return result;
+    }
 
-        } catch (Exception e) {
-            return new NutritionRequestDto.TotalNutritionRequestDto(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0L);
-        }
+    private NutritionRequestDto.TotalNutritionRequestDto emptyResult() {
+        return new NutritionRequestDto.TotalNutritionRequestDto(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0L);
     }
+
     @Transactional(readOnly = true)
     public TodayNutritionResponseDto getTodaySummary() {
         User user = authService.getCurrentUser();
@@ -79,10 +123,11 @@ public class FoodNutritionService {
             throw new UserHandler(ErrorCode.USER_NOT_FOUND);
         }
 
-        String todayKey = CACHE_PREFIX + user.getId() + ":" + LocalDate.now();
+        String todayKey = redisKeyspace.key(CACHE_NAMESPACE, user.getId() + ":" + LocalDate.now());
 
         try {
-            TodayNutritionResponseDto cached = nutritionRedisTemplate.opsForValue().get(todayKey);
+            TodayNutritionResponseDto cached = callMetrics.cacheGet(CACHE_NAMESPACE,
+                    () -> nutritionRedisTemplate.opsForValue().get(todayKey));
             if (cached != null) {
                 log.info("[TodayNutrition] 캐시 HIT → {}", todayKey);
                 return cached;
@@ -90,19 +135,19 @@ public class FoodNutritionService {
 
             LocalDate today = LocalDate.now();
 
-            List<NutritionAnalysis> analyses =
-                    nutritionAnalysisRepository.findTodayRecords(user,today);
+            // 하루 합계는 식단 저장/삭제 때 미리 누적해 둔 값을 한 건만 읽음
+            DailyNutritionTotalsDto totals = dailyNutritionTotalsService.get(user.getId(), today);
 
-            if (analyses.isEmpty()) {
+            if (totals.isEmpty()) {
                 throw new RecommendationHandler(ErrorCode.NUTRITION_DATA_NOT_FOUND);
             }
 
-            int totalCalories   = analyses.stream().mapToInt(NutritionAnalysis::getCalories).sum();
-            double totalProtein = analyses.stream().mapToDouble(NutritionAnalysis::getProtein).sum();
-            double totalCarbs   = analyses.stream().mapToDouble(NutritionAnalysis::getCarbs).sum();
-            double totalSugar   = analyses.stream().mapToDouble(NutritionAnalysis::getSugar).sum();
-            double totalFat     = analyses.stream().mapToDouble(NutritionAnalysis::getFat).sum();
-            double totalSodium  = analyses.stream().mapToDouble(NutritionAnalysis::getSodium).sum();
+            int totalCalories   = (int) totals.getCalories();
+            double totalProtein = totals.getProtein();
+            double totalCarbs   = totals.getCarbs();
+            double totalSugar   = totals.getSugar();
+            double totalFat     = totals.getFat();
+            double totalSodium  = totals.getSodium();
 
             // 권장량 AI 호출
             String prompt = String.format("""
@@ -132,7 +177,7 @@ public class FoodNutritionService {
                     totalCalories, totalProtein, totalCarbs, totalSugar, totalFat, totalSodium
             );
 
-            String aiResponse = openAiClient.requestCompletion("당신은 영양학 전문가입니다.", prompt);
+            String aiResponse = llmGateway.requestCompletion("당신은 영양학 전문가입니다.", prompt);
 
             log.info("[TodayNutrition] AI raw response: {}", aiResponse);
 
@@ -158,7 +203,8 @@ public class FoodNutritionService {
                     .sodium(buildNutrient(totalSodium, recommendedSodium))
                     .build();
 
-            nutritionRedisTemplate.opsForValue().set(todayKey, dto, Duration.ofDays(1));
+            callMetrics.cacheSet(CACHE_NAMESPACE,
+                    () -> nutritionRedisTemplate.opsForValue().set(todayKey, dto, Duration.ofDays(1)));
             log.info("[TodayNutrition] 캐시 MISS → 새로 계산 후 저장: {}", todayKey);
             return dto;
 
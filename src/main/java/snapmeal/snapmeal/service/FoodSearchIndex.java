@@ -0,0 +1,260 @@
+package snapmeal.snapmeal.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.web.dto.FoodSearchDto;
+
+/**
+ * 식품명 메모리 검색 인덱스
+ * - 이름을 자모 단위로 풀어서 색인 → "김ㅊ", "김치찌" 처럼 입력 중인 글자도 접두어로 매칭
+ * - 입력 중일 수 있는 건 질의의 마지막 글자뿐: 앞 글자들은 음절이 그대로 같아야 하고,
+ *   마지막 글자만 자모가 대상 음절의 앞부분이면 일치 ("밥" 은 "밥버거" 에는, "바베큐" 에는 매칭되지 않음)
+ * - 접두어: 자모 문자열을 정렬한 배열에서 이진 탐색으로 후보를 찾고 음절 단위로 확인
+ * - 부분 일치: 자모 3-gram 역색인에서 가장 짧은 포스팅 리스트만 꺼내 음절 단위로 확인
+ * - 정렬: 완전 일치 > 접두어 > 부분 일치, 같으면 이름이 짧은 순
+ * - 인덱스는 불변 스냅샷으로 만들고 통째로 교체하므로 검색 중 락이 필요 없음
+ */
+@Slf4j
+@Component
+public class FoodSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 겹모음/겹받침은 입력 순서대로 풀어 둠 → 입력 중인 "고"/"달" 이 "과"/"닭" 의 자모 접두어가 됨
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public record SearchResult(int totalCount, List<FoodSearchDto> items) {
+    }
+
+    public boolean isReady() {
+        return snapshot.size() > 0;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /** 전체 데이터로 인덱스를 새로 만들어 교체 */
+    public void rebuild(List<FoodSearchDto> foods) {
+        long started = System.nanoTime();
+        this.snapshot = Snapshot.build(foods);
+        log.info("[FoodSearchIndex] {}건 색인 완료 ({} ms)", foods.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        Snapshot current = this.snapshot;
+        String normalized = normalize(query);
+        String key = decompose(normalized);
+        if (key.isEmpty() || current.size() == 0) {
+            return new SearchResult(0, List.of());
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        boolean[] seen = new boolean[current.size()];
+
+        // 1) 접두어 일치 (정렬된 자모 문자열에서 범위 탐색 → 음절 단위 확인)
+        int from = current.lowerBound(key);
+        for (int i = from; i < current.sortedKeys.length && current.sortedKeys[i].startsWith(key); i++) {
+            int doc = current.sortedDocs[i];
+            if (!matchesAt(current.names[doc], normalized, 0)) {
+                continue;
+            }
+            seen[doc] = true;
+            hits.add(new Hit(doc, current.names[doc].equals(normalized) ? 0 : 1));
+        }
+
+        // 2) 부분 일치 (3-gram 후보 → 음절 단위 확인)
+        if (key.length() >= GRAM) {
+            int[] candidates = current.shortestPostings(key);
+            for (int doc : candidates) {
+                if (!seen[doc] && containsMatch(current.names[doc], normalized)) {
+                    seen[doc] = true;
+                    hits.add(new Hit(doc, 2));
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::rank)
+                .thenComparingInt(h -> current.keys[h.doc()].length())
+                .thenComparing(h -> current.foods.get(h.doc()).getName()));
+
+        int fromIndex = Math.max(0, (page - 1) * size);
+        if (fromIndex >= hits.size()) {
+            return new SearchResult(hits.size(), List.of());
+        }
+        List<FoodSearchDto> items = hits.subList(fromIndex, Math.min(hits.size(), fromIndex + size)).stream()
+                .map(h -> current.foods.get(h.doc()))
+                .toList();
+        return new SearchResult(hits.size(), items);
+    }
+
+    // name 의 어느 위치에서든 질의가 음절 단위로 일치하는지
+    static boolean containsMatch(String name, String query) {
+        for (int p = 0; p + query.length() <= name.length(); p++) {
+            if (matchesAt(name, query, p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // name[p..] 가 질의로 시작하는지: 마지막 글자 전까지는 같은 글자, 마지막 글자는 자모 접두어
+    static boolean matchesAt(String name, String query, int p) {
+        int last = query.length() - 1;
+        if (last < 0 || p + last >= name.length()) {
+            return false;
+        }
+        if (!name.regionMatches(p, query, 0, last)) {
+            return false;
+        }
+        char q = query.charAt(last);
+        char c = name.charAt(p + last);
+        return q == c || decompose(String.valueOf(c)).startsWith(decompose(String.valueOf(q)));
+    }
+
+    // NFC 정규화 + 소문자 + 공백 제거 ("김치 찌개" 와 "김치찌개" 를 같게 취급)
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", "");
+    }
+
+    // 완성형 한글은 초성/중성/종성 호환 자모로 분해 (겹모음/겹받침은 두 자모로), 그 외 문자는 그대로
+    static String decompose(String value) {
+        StringBuilder sb = new StringBuilder(value.length() * 3);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int code = c - 0xAC00;
+                sb.append(CHOSEONG[code / 588]);
+                sb.append(JUNGSEONG[(code % 588) / 28]);
+                sb.append(JONGSEONG[code % 28]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private record Hit(int doc, int rank) {
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY =
+                new Snapshot(List.of(), new String[0], new String[0], new String[0], new int[0], Map.of());
+
+        final List<FoodSearchDto> foods;
+        final String[] names;         // doc → 정규화한 이름 (음절 단위 확인용)
+        final String[] keys;          // doc → 자모 문자열
+        final String[] sortedKeys;    // 접두어 탐색용 정렬 배열
+        final int[] sortedDocs;       // sortedKeys[i] 의 doc
+        final Map<String, int[]> grams;
+
+        private Snapshot(List<FoodSearchDto> foods, String[] names, String[] keys, String[] sortedKeys,
+                         int[] sortedDocs, Map<String, int[]> grams) {
+            this.foods = foods;
+            this.names = names;
+            this.keys = keys;
+            this.sortedKeys = sortedKeys;
+            this.sortedDocs = sortedDocs;
+            this.grams = grams;
+        }
+
+        int size() {
+            return foods.size();
+        }
+
+        static Snapshot build(List<FoodSearchDto> source) {
+            List<FoodSearchDto> foods = List.copyOf(source);
+            int n = foods.size();
+            String[] names = new String[n];
+            String[] keys = new String[n];
+            for (int i = 0; i < n; i++) {
+                names[i] = normalize(foods.get(i).getName());
+                keys[i] = decompose(names[i]);
+            }
+
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+            String[] sortedKeys = new String[n];
+            int[] sortedDocs = new int[n];
+            for (int i = 0; i < n; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedDocs[i] = order[i];
+            }
+
+            Map<String, List<Integer>> postings = new HashMap<>();
+            for (int doc = 0; doc < n; doc++) {
+                String key = keys[doc];
+                for (int i = 0; i + GRAM <= key.length(); i++) {
+                    List<Integer> list = postings.computeIfAbsent(key.substring(i, i + GRAM), g -> new ArrayList<>());
+                    // 같은 문서 안의 중복 gram 은 한 번만
+                    if (list.isEmpty() || list.get(list.size() - 1) != doc) {
+                        list.add(doc);
+                    }
+                }
+            }
+            Map<String, int[]> grams = new HashMap<>(postings.size() * 2);
+            postings.forEach((gram, docs) -> grams.put(gram, docs.stream().mapToInt(Integer::intValue).toArray()));
+
+            return new Snapshot(foods, names, keys, sortedKeys, sortedDocs, grams);
+        }
+
+        int lowerBound(String key) {
+            int lo = 0;
+            int hi = sortedKeys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedKeys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // 질의의 모든 3-gram 중 문서 수가 가장 적은 포스팅 리스트 (없는 gram 이 있으면 결과 없음)
+        int[] shortestPostings(String key) {
+            int[] shortest = null;
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                int[] docs = grams.get(key.substring(i, i + GRAM));
+                if (docs == null) {
+                    return new int[0];
+                }
+                if (shortest == null || docs.length < shortest.length) {
+                    shortest = docs;
+                }
+            }
+            return shortest == null ? new int[0] : shortest;
+        }
+    }
+}
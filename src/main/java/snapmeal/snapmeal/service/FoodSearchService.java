@@ -1,64 +1,40 @@
 package snapmeal.snapmeal.service;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import snapmeal.snapmeal.global.FoodApiClient;
 import snapmeal.snapmeal.web.dto.FoodApiResponseDto;
 import snapmeal.snapmeal.web.dto.FoodSearchDto;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FoodSearchService {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${food-api.base-url}")
-    private String baseUrl;
-
-    // 디코딩된 키
-    @Value("${food-api.key}")
-    private String foodApiKey;
+    private final FoodSearchIndex foodSearchIndex;
+    private final FoodApiClient foodApiClient;
 
     /**
      * 식품 영양성분 검색
+     * - 로컬 인덱스(FoodSearchIndex)에서 먼저 찾고, 인덱스가 없거나 일치하는 식품이 없을 때만 공공 API 호출
      */
     public List<FoodSearchDto> searchFoods(String query, int page, int size) {
-        try {
-            // 디코딩된 키와 한글 검색어를 인코딩
-            String encodedKey = URLEncoder.encode(foodApiKey, StandardCharsets.UTF_8);
-            String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-
-            String fullQueryString = String.format(
-                    "serviceKey=%s&pageNo=%d&numOfRows=%d&type=json&FOOD_NM_KR=%s",
-                    encodedKey,
-                    page,
-                    size,
-                    encodedQuery
-            );
-
-            URI uri = UriComponentsBuilder
-                    .fromHttpUrl(baseUrl)
-                    .path("/getFoodNtrCpntDbInq02")
-                    .query(fullQueryString) // 이미 인코딩된 문자열을 그대로 사용
-                    .build(true)
-                    .toUri();
-
-            log.info("raw foodApiKey = {}", foodApiKey);
-            log.info("식품영양성분 API 요청 URL = {}", uri);
+        if (foodSearchIndex.isReady()) {
+            FoodSearchIndex.SearchResult local = foodSearchIndex.search(query, page, size);
+            if (local.totalCount() > 0) {
+                return local.items();
+            }
+        }
+        return searchRemote(query, page, size);
+    }
 
-            FoodApiResponseDto response = restTemplate.getForObject(uri, FoodApiResponseDto.class);
+    private List<FoodSearchDto> searchRemote(String query, int page, int size) {
+        try {
+            FoodApiResponseDto response = foodApiClient.fetch(query, page, size);
 
             if (response == null || response.getBody() == null || response.getBody().getRows() == null) {
                 log.warn("API 응답이 비어있습니다.");
@@ -0,0 +1,149 @@
+package snapmeal.snapmeal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.MealMenuTag;
+import snapmeal.snapmeal.domain.Meals;
+import snapmeal.snapmeal.repository.MealMenuTagRepository;
+import snapmeal.snapmeal.repository.MealsRepository;
+
+/**
+ * 식단 메뉴 태그(meal_menu_tag) 관리
+ * - 식단 저장/수정/삭제 시 호출 측 트랜잭션 안에서 태그를 다시 씀
+ * - meal-menu-tag.backfill.enabled=true 로 기동하면 기존 식단 전체를 mealId 키셋 페이지로 한 번 색인
+ * - 전체 색인이 끝나면 Redis 에 완료 표시(mealMenuTag:indexed = 사전 버전)를 남김. 표시 전에는 기존 식단 태그가 비어 있을 수 있으므로
+ *   태그를 읽는 쪽(ChallengeStampEngine)은 isIndexed() 가 true 일 때만 태그를 씀
+ * - 표시된 버전이 MenuCanonicalizer.VERSION 과 다르면(사전 변경) 색인 전으로 취급
+ */
+@Slf4j
+@Service
+public class MealMenuTagService {
+
+    private static final String INDEXED_KEY = "mealMenuTag:indexed";
+
+    private final MealMenuTagRepository mealMenuTagRepository;
+    private final MealsRepository mealsRepository;
+    private final MenuCanonicalizer menuCanonicalizer;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    private final boolean backfillEnabled;
+    private final int backfillPageSize;
+
+    // 같은 사전 버전으로 한 번 완료되면 다시 풀리지 않으므로 true 만 로컬에 기억
+    private volatile boolean indexed;
+
+    public MealMenuTagService(MealMenuTagRepository mealMenuTagRepository,
+                              MealsRepository mealsRepository,
+                              MenuCanonicalizer menuCanonicalizer,
+                              TransactionTemplate transactionTemplate,
+                              StringRedisTemplate redisTemplate,
+                              @Value("${meal-menu-tag.backfill.enabled:false}") boolean backfillEnabled,
+                              @Value("${meal-menu-tag.backfill.page-size:1000}") int backfillPageSize) {
+        this.mealMenuTagRepository = mealMenuTagRepository;
+        this.mealsRepository = mealsRepository;
+        this.menuCanonicalizer = menuCanonicalizer;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.backfillEnabled = backfillEnabled;
+        this.backfillPageSize = backfillPageSize;
+    }
+
+    /** 식단 저장 시 호출 */
+    @Transactional
+    public void onMealAdded(Meals meal) {
+        mealMenuTagRepository.saveAll(tagsOf(meal));
+    }
+
+    /** 식단 메뉴 수정 시 호출 */
+    @Transactional
+    public void onMealMenuChanged(Meals meal) {
+        mealMenuTagRepository.deleteAllByMealId(meal.getMealId());
+        mealMenuTagRepository.saveAll(tagsOf(meal));
+    }
+
+    /** 식단 삭제 시 호출 */
+    @Transactional
+    public void onMealRemoved(Meals meal) {
+        mealMenuTagRepository.deleteAllByMealId(meal.getMealId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillEnabled) {
+            return;
+        }
+        try {
+            reindexAll();
+        } catch (Exception e) {
+            log.error("[MealMenuTag] 백필 실패", e);
+        }
+    }
+
+    /** 기존 식단 전체 색인이 끝났는지 (끝나기 전에는 meal_menu_tag 만으로 판정하면 안 됨) */
+    public boolean isIndexed() {
+        if (!indexed) {
+            indexed = String.valueOf(MenuCanonicalizer.VERSION).equals(redisTemplate.opsForValue().get(INDEXED_KEY));
+        }
+        return indexed;
+    }
+
+    /** 색인 완료 표시가 없거나 사전 버전이 다를 때만 전체 재색인 */
+    public void ensureIndexed() {
+        if (!isIndexed()) {
+            reindexAll();
+        }
+    }
+
+    /** 기존 식단 전체 재색인. 페이지마다 트랜잭션을 따로 잡음. 처리한 식단 수 반환 */
+    public int reindexAll() {
+        long afterId = 0L;
+        int indexed = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Meals> page = transactionTemplate.execute(status -> {
+                List<Meals> meals = mealsRepository
+                        .findAllByMealIdGreaterThanOrderByMealIdAsc(cursor, PageRequest.of(0, backfillPageSize));
+                List<MealMenuTag> tags = new ArrayList<>();
+                for (Meals meal : meals) {
+                    mealMenuTagRepository.deleteAllByMealId(meal.getMealId());
+                    tags.addAll(tagsOf(meal));
+                }
+                mealMenuTagRepository.saveAll(tags);
+                return meals;
+            });
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            indexed += page.size();
+            afterId = page.get(page.size() - 1).getMealId();
+        }
+        redisTemplate.opsForValue().set(INDEXED_KEY, String.valueOf(MenuCanonicalizer.VERSION));
+        this.indexed = true;
+        log.info("[MealMenuTag] 식단 메뉴 재색인 완료: {}건", indexed);
+        return indexed;
+    }
+
+    private List<MealMenuTag> tagsOf(Meals meal) {
+        if (meal.getMenu() == null || meal.getMealDate() == null || meal.getUser() == null) {
+            return List.of();
+        }
+        return menuCanonicalizer.canonicalize(meal.getMenu()).stream()
+                .map(menu -> MealMenuTag.builder()
+                        .mealId(meal.getMealId())
+                        .userId(meal.getUser().getId())
+                        .mealDate(meal.getMealDate())
+                        .canonicalMenu(menu)
+                        .build())
+                .toList();
+    }
+}
@@ -13,6 +13,7 @@ import snapmeal.snapmeal.domain.Images;
 import snapmeal.snapmeal.domain.Meals;
 import snapmeal.snapmeal.domain.NutritionAnalysis;
 import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.global.RedisKeyspace;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.handler.GeneralException;
 import snapmeal.snapmeal.global.util.AuthService;
@@ -34,9 +35,13 @@ public class MealsService {
     private final AuthService authService;
     private final MealsConverter mealsConverter;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisKeyspace redisKeyspace;
+    private final DailyNutritionTotalsService dailyNutritionTotalsService;
+    private final MealMenuTagService mealMenuTagService;
+    private final ChallengeStampEngine challengeStampEngine;
 
-    private static final String RECOMMENDATION_CACHE_PREFIX = "todayRecommendation:";
-    private static final String NUTRITION_CACHE_PREFIX = "todayNutrition:";
+    private static final String RECOMMENDATION_CACHE_NAMESPACE = "todayRecommendation";
+    private static final String NUTRITION_CACHE_NAMESPACE = "todayNutrition";
 
     /*
     // 식단 저장
@@ -73,7 +78,7 @@ public class MealsService {
     // - request.getNutritionId()가 없으면: 사진/영양 없이 텍스트 기반 기록만 저장
     @Transactional
     public MealsResponseDto createMeal(MealsRequestDto request) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         NutritionAnalysis nutrition = null;
         Images image = null;
@@ -99,8 +104,14 @@ public class MealsService {
 
         Meals saved = mealsRepository.save(meal);
 
+        // 하루 영양 합계에 증감분 반영 (같은 트랜잭션)
+        dailyNutritionTotalsService.onMealAdded(saved);
+        // 메뉴 태그 색인 후 진행 중 챌린지 스탬프 비트맵 갱신
+        mealMenuTagService.onMealAdded(saved);
+        challengeStampEngine.onMealAdded(saved);
+
         // 캐시 무효화(오늘자 추천/영양요약 갱신을 위한)
-        clearTodayCache(user);
+        clearTodayCache(user.getId());
 
         return mealsConverter.toDto(saved);
     }
@@ -108,7 +119,7 @@ public class MealsService {
 
     // 사용자의 날짜별 식단 조회 (DTO 반환)
     public List<MealsResponseDto> getMealsByDate(LocalDate targetDate) {
-        User user = authService.getCurrentUser();
+        User user = authService.getCurrentUserReference();
 
         LocalDate date = (targetDate != null) ? targetDate : LocalDate.now();
         LocalDateTime startOfDay = date.atStartOfDay();
@@ -121,21 +132,21 @@ public class MealsService {
 
     // 사용자의 식단 전체 조회
     @Transactional(readOnly = true)
-    public List<Meals> getMyMeals(User loginUser) {
-        if (loginUser == null) {
+    public List<Meals> getMyMeals(Long userId) {
+        if (userId == null) {
             throw new GeneralException(ErrorCode.USER_NOT_FOUND);
         }
-        // 최신순 정렬 반환
-        return mealsRepository.findAllByUserOrderByMealDateDesc(loginUser);
+        // 최신순 정렬 반환 (사용자 엔티티 조회 없이 user_id 로 바로)
+        return mealsRepository.findAllByUser_IdOrderByMealDateDesc(userId);
     }
 
     // 사용자의 식단 개별 조회
     public Meals getMeal(Long mealId) {
-        User user = authService.getCurrentUser();
+        Long userId = authService.getCurrentUserId();
         Meals meal = mealsRepository.findById(mealId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 식단이 없습니다. id=" + mealId));
 
-        if (!meal.getUser().getId().equals(user.getId())) {
+        if (!meal.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("해당 식단에 접근할 수 없습니다.");
         }
 
@@ -145,21 +156,32 @@ public class MealsService {
     // 식단 수정
     @Transactional
     public Meals updateMeal(Long mealId, MealsRequestDto requestDto) {
-        User user = authService.getCurrentUser();
+        // 소유자 확인은 getMeal 에서 (사용자 조회 없이 id 비교)
         Meals meal = getMeal(mealId);
+        Long userId = meal.getUser().getId();
 
+        // 영양 분석/식사 시각은 바뀌지 않으므로 하루 영양 합계는 그대로
+        String previousMenu = meal.getMenu();
         meal.update(requestDto.getMealType(), requestDto.getMemo(),requestDto.getMenu(), requestDto.getLocation());
+        mealMenuTagService.onMealMenuChanged(meal);
+        challengeStampEngine.onMealMenuChanged(meal, previousMenu);
 
         // 오늘 캐시 무효화
-        clearTodayCache(user);
+        clearTodayCache(userId);
 
         return meal; // save() 필요 없음 (JPA 영속 상태 → 자동 반영)
     }
 
     @Transactional
     public void deleteMeal(Long mealId) {
-        User user = authService.getCurrentUser();
+        // 소유자 확인은 getMeal 에서 (사용자 조회 없이 id 비교)
         Meals meal = getMeal(mealId);
+        Long userId = meal.getUser().getId();
+
+        // 영양 분석을 지우기 전에 하루 영양 합계에서 빼기
+        dailyNutritionTotalsService.onMealRemoved(meal);
+        challengeStampEngine.onMealRemoved(meal);
+        mealMenuTagService.onMealRemoved(meal);
 
         if (meal.getNutrition() != null) {
             nutritionAnalysisRepository.delete(meal.getNutrition());
@@ -167,19 +189,19 @@ public class MealsService {
 
         mealsRepository.delete(meal);
 
-        clearTodayCache(user);
+        clearTodayCache(userId);
     }
 
 
-    private void clearTodayCache(User user) {
+    private void clearTodayCache(Long userId) {
         String today = LocalDate.now().toString();
 
         // 추천 캐시 삭제
-        String recommendationKey = RECOMMENDATION_CACHE_PREFIX + user.getId() + ":" + today;
+        String recommendationKey = redisKeyspace.key(RECOMMENDATION_CACHE_NAMESPACE, userId + ":" + today);
         redisTemplate.delete(recommendationKey);
 
         // 영양 요약 캐시 삭제
-        String nutritionKey = NUTRITION_CACHE_PREFIX + user.getId() + ":" + today;
+        String nutritionKey = redisKeyspace.key(NUTRITION_CACHE_NAMESPACE, userId + ":" + today);
         redisTemplate.delete(nutritionKey);
     }
 }
@@ -0,0 +1,87 @@
+package snapmeal.snapmeal.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * 챌린지 표준 메뉴 사전
+ * - 챌린지 타겟으로 쓰는 메뉴 목록(CANONICAL_MENUS)과 자주 쓰는 다른 표기(별칭)를 한 곳에서 관리
+ * - 식단 메뉴 문자열 → 포함된 표준 메뉴 목록 ("로제 떡볶이, 순대" → [떡볶이])
+ * - 판정: 메뉴와 표준 메뉴/별칭을 FoodSearchIndex.normalize 로 정규화(NFC, 소문자, 공백 제거)한 뒤 부분 일치
+ * - 기존 menu LIKE '%target%' 판정과의 차이
+ *   · 공백을 무시함 ("도토리묵무침" 도 "도토리묵 무침")
+ *   · 별칭 표기도 인정함 ("떡볶기" → 떡볶이, "자장면"/"간짜장" → 짜장면)
+ *   별칭은 다른 음식의 일부로 흔히 쓰이지 않는 표기만 둠 (예: "후라이드" 는 감자/새우 후라이드도 있어 치킨 별칭으로 쓰지 않음)
+ * - 사전(표준 메뉴/별칭)을 바꾸면 VERSION 을 올림 → 이전 사전으로 만든 meal_menu_tag 는 재색인 전까지 쓰지 않음
+ */
+@Component
+public class MenuCanonicalizer {
+
+    // 주간 챌린지 타겟 후보 (ChallengeGeneratorService 가 이 안에서만 고름)
+    public static final List<String> CANONICAL_MENUS = List.of(
+            "간장게장","갈비찜","깍두기","떡꼬치","도토리묵 무침","동그랑땡",
+            "된장찌개","두부김치","두부조림","떡만두국","떡볶이","만두","배추김치","시래기 된장국","식혜",
+            "애호박볶음","약과","약밥","양념게장","어묵볶음","열무국수","열무김치","오징어채볶음","오징어튀김","육개장",
+            "잔치국수","잡채","전복죽","전통 한과","제육볶음","족발","진미채볶음","짜장면","짬뽕","쫄면",
+            "추어탕","치킨","칼국수","콩국수","콩나물국","콩나물무침","콩자반","숙주나물무침","파전","편육","해물찜","호박전"
+    );
+
+    /** 사전 버전 (MealMenuTagService 색인 완료 표시에 기록) */
+    public static final int VERSION = 2;
+
+    // 다른 표기 → 표준 메뉴
+    private static final Map<String, String> ALIASES = Map.of(
+            "떡볶기", "떡볶이",
+            "떡뽁이", "떡볶이",
+            "떡복이", "떡볶이",
+            "자장면", "짜장면",
+            "간짜장", "짜장면"
+    );
+
+    // 정규화된 표기 → 표준 메뉴 (긴 표기부터 확인)
+    private final Map<String, String> forms;
+    private final Map<String, String> canonicalByNormalized;
+
+    public MenuCanonicalizer() {
+        List<Map.Entry<String, String>> entries = new ArrayList<>();
+        Map<String, String> canonical = new LinkedHashMap<>();
+        for (String menu : CANONICAL_MENUS) {
+            entries.add(Map.entry(FoodSearchIndex.normalize(menu), menu));
+            canonical.put(FoodSearchIndex.normalize(menu), menu);
+        }
+        ALIASES.forEach((alias, menu) -> entries.add(Map.entry(FoodSearchIndex.normalize(alias), menu)));
+        entries.sort(Comparator.comparingInt((Map.Entry<String, String> e) -> e.getKey().length()).reversed());
+
+        Map<String, String> ordered = new LinkedHashMap<>();
+        entries.forEach(e -> ordered.putIfAbsent(e.getKey(), e.getValue()));
+        this.forms = ordered;
+        this.canonicalByNormalized = canonical;
+    }
+
+    /** 식단 메뉴에 포함된 표준 메뉴 (없으면 빈 목록) */
+    public Set<String> canonicalize(String menu) {
+        Set<String> result = new LinkedHashSet<>();
+        String normalized = FoodSearchIndex.normalize(menu);
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        forms.forEach((form, canonical) -> {
+            if (normalized.contains(form)) {
+                result.add(canonical);
+            }
+        });
+        return result;
+    }
+
+    /** 챌린지 타겟이 표준 메뉴면 그 표기 (공백/대소문자 차이 무시) */
+    public Optional<String> canonicalOf(String target) {
+        return Optional.ofNullable(canonicalByNormalized.get(FoodSearchIndex.normalize(target)));
+    }
+}
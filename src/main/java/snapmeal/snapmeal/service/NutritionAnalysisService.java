@@ -5,13 +5,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 import snapmeal.snapmeal.domain.Images;
 import snapmeal.snapmeal.domain.NutritionAnalysis;
 import snapmeal.snapmeal.domain.User;
 import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
 import snapmeal.snapmeal.web.dto.NutritionOcrResponseDto;
 import snapmeal.snapmeal.global.util.AuthService; // <- 프로젝트에 이미 있을 가능성 높음
+import snapmeal.snapmeal.global.util.ProcessedImage;
 
 import java.util.Map;
 
@@ -30,7 +30,7 @@ public class NutritionAnalysisService {
      * 영양성분표 이미지를 OCR → NutritionAnalysis 저장 → nutritionId 포함 DTO 반환
      */
     @Transactional
-    public NutritionOcrResponseDto analyzeAndSave(MultipartFile file, Images image) {
+    public NutritionOcrResponseDto analyzeAndSave(ProcessedImage file, Images image) {
         try {
             // 1) 현재 로그인한 유저
             User user = authService.getCurrentUser();
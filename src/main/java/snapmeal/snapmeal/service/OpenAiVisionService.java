@@ -2,55 +2,49 @@ package snapmeal.snapmeal.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
-
+import snapmeal.snapmeal.global.CallMetrics;
+import snapmeal.snapmeal.global.OpenAiClient;
+import snapmeal.snapmeal.global.util.ProcessedImage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OpenAiVisionService {
 
-    private static final String OPENAI_CHAT_COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final String IMAGE_PLACEHOLDER = "__IMAGE_DATA_URL__";
 
-    @Value("${spring.openai.api-key}")
-    private String apiKey;
+    // 이미지 업로드가 포함되어 일반 채팅 호출보다 타임아웃을 길게 잡음
+    @Value("${spring.openai.http.vision-timeout-seconds:60}")
+    private long visionTimeoutSeconds;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // OpenAiClient 와 같은 커넥션 풀을 공유
+    private final OpenAiClient openAiClient;
+    private final CallMetrics callMetrics;
 
     // 영양성분표 사진 업로드하여 분석
-    public String requestNutritionJsonFromFile(MultipartFile file) {
-        try {
-            byte[] bytes = file.getBytes();
-
-            // contentType이 null일 수도 있어서 기본값 지정
-            String contentType = file.getContentType();
-            if (contentType == null || contentType.isBlank()) {
-                contentType = "image/jpeg";
-            }
-
-            String base64 = Base64.getEncoder().encodeToString(bytes);
-
-            String dataUrl = "data:" + contentType + ";base64," + base64;
-
-            return callVisionWithImageUrl(dataUrl); // 공통 메서드 재사용
-
-        } catch (Exception e) {
-            log.error("파일 처리 중 오류", e);
-            throw new RuntimeException("이미지 파일 처리 중 오류가 발생했습니다.", e);
-        }
+    // - 이미지는 data URL 문자열로 만들지 않고, 요청 본문을 쓰는 시점에 버퍼에서 바로 Base64 로 흘려보냄
+    public String requestNutritionJsonFromFile(ProcessedImage image) {
+        return callVision(dataUrlBody -> new Base64ImageRequestBody(dataUrlBody, image));
     }
 
-    // 공통: imageUrl 또는 dataUrl을 받아 Vision 호출
-    private String callVisionWithImageUrl(String imageUrlOrDataUrl) {
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    // 공통: 이미지 자리를 비워둔 요청 JSON 을 만들고, bodyFactory 가 그 자리를 채워 전송
+    private String callVision(Function<String, RequestBody> bodyFactory) {
 
         Map<String, Object> systemMessage = new HashMap<>();
         systemMessage.put("role", "system");
@@ -79,7 +73,7 @@ public class OpenAiVisionService {
         userContentText.put("text", "이 영양성분표 이미지를 분석해서 위에서 말한 JSON 형식으로만 응답해줘.");
 
         Map<String, Object> imageUrlObj = new HashMap<>();
-        imageUrlObj.put("url", imageUrlOrDataUrl); // URL or data URL 모두 사용 가능
+        imageUrlObj.put("url", IMAGE_PLACEHOLDER); // 전송 시 data URL 로 치환
 
         Map<String, Object> userContentImage = new HashMap<>();
         userContentImage.put("type", "image_url");
@@ -98,32 +92,10 @@ public class OpenAiVisionService {
         requestBody.put("messages", List.of(systemMessage, userMessage));
         requestBody.put("max_tokens", 300);
 
-        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(requestBody, headers);
-
         try {
-            ResponseEntity<Map> responseEntity = restTemplate.exchange(
-                    OPENAI_CHAT_COMPLETIONS_URL,
-                    HttpMethod.POST,
-                    httpEntity,
-                    Map.class
-            );
-
-            if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-                log.error("OpenAI Vision 응답 코드 비정상: {}", responseEntity.getStatusCode());
-                throw new RuntimeException("OpenAI Vision 호출 실패");
-            }
-
-            Map<String, Object> body = responseEntity.getBody();
-            log.info("OpenAI Vision raw response: {}", body);
-
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) body.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                throw new RuntimeException("OpenAI 응답에 choices가 없습니다.");
-            }
-
-            Map<String, Object> firstChoice = choices.get(0);
-            Map<String, Object> message = (Map<String, Object>) firstChoice.get("message");
-            String content = (String) message.get("content");
+            RequestBody body = bodyFactory.apply(new JSONObject(requestBody).toString());
+            String content = callMetrics.external("openai", "vision",
+                    () -> openAiClient.requestChatCompletion(body, Duration.ofSeconds(visionTimeoutSeconds)));
 
             log.info("OpenAI Vision message.content: {}", content);
             return content;
@@ -133,4 +105,56 @@ public class OpenAiVisionService {
             throw new RuntimeException("OpenAI Vision 호출 중 오류가 발생했습니다.", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@code ..."url":"data:<type>;base64,<이미지>"...} 본문을 스트리밍으로 작성
+     * - 이미지 버퍼 → Base64 인코더 → 소켓 순으로 흘려 Base64 문자열 전체를 힙에 만들지 않음
+     * - 길이를 미리 계산해 chunked 가 아닌 Content-Length 로 전송, 재시도 시 다시 쓸 수 있음
+     */
+    private static final class Base64ImageRequestBody extends RequestBody {
+
+        private final byte[] prefix;
+        private final byte[] suffix;
+        private final ProcessedImage image;
+
+        Base64ImageRequestBody(String jsonWithPlaceholder, ProcessedImage image) {
+            int at = jsonWithPlaceholder.indexOf(IMAGE_PLACEHOLDER);
+            String dataUrlPrefix = "data:" + image.getContentType() + ";base64,";
+            this.prefix = (jsonWithPlaceholder.substring(0, at) + dataUrlPrefix).getBytes(StandardCharsets.UTF_8);
+            this.suffix = jsonWithPlaceholder.substring(at + IMAGE_PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8);
+            this.image = image;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public long contentLength() {
+            return prefix.length + 4 * ((image.getSize() + 2) / 3) + suffix.length;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(prefix);
+            // Base64 스트림을 닫아 마지막 패딩을 쓰되, 아래 sink 는 닫지 않음
+            OutputStream notClosing = new FilterOutputStream(sink.outputStream()) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+            try (InputStream in = image.openStream();
+                 OutputStream base64 = Base64.getEncoder().wrap(notClosing)) {
+                in.transferTo(base64);
+            }
+            sink.write(suffix);
+        }
+    }
+}
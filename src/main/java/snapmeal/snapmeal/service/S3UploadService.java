@@ -2,20 +2,29 @@ package snapmeal.snapmeal.service;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import snapmeal.snapmeal.config.S3Configure;
 import snapmeal.snapmeal.domain.Images;
 import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.global.CallMetrics;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.handler.GeneralException;
 import snapmeal.snapmeal.global.util.AuthService;
+import snapmeal.snapmeal.global.util.ImagePreprocessor;
+import snapmeal.snapmeal.global.util.ProcessedImage;
 import snapmeal.snapmeal.repository.ImageRepository;
 import snapmeal.snapmeal.web.dto.DetectionDto;
 import snapmeal.snapmeal.web.dto.PredictionResponseDto;
@@ -25,11 +34,18 @@ import snapmeal.snapmeal.web.dto.PredictionResponseDto;
 public class S3UploadService {
 
     private final AmazonS3 amazonS3;
+    private final CallMetrics callMetrics;
     private final S3Configure s3Configure;
     private final ImageRepository imagesRepository;
     private final FastApiProxyService fastApiProxyService;
     private final AuthService authService;
+    private final ImagePreprocessor imagePreprocessor;
+    @Qualifier("uploadTaskExecutor")
+    private final AsyncTaskExecutor uploadTaskExecutor;
 
+    // S3 업로드 + 예측 전체 대기 한도
+    @Value("${spring.upload.timeout-seconds:30}")
+    private long uploadTimeoutSeconds;
 
     private static final long MAX_FILE_SIZE = 100 * 1024 * 1024; // 이미지 최대 사이즈 2MB
     @Transactional
@@ -49,74 +65,121 @@ public class S3UploadService {
             User user = authService.getCurrentUser();
             log.info("👤 로그인 유저 조회 완료. userId={}", user.getUserId());
 
-            // 3) 파일 이름 생성
-            String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
-            String key = UUID.randomUUID() + "-" + file.getOriginalFilename();
-            log.info("📝 생성된 S3 파일명(key)={}", key);
+            // 3) 이미지 전처리 (방향 보정 + 축소 + 재인코딩). S3/FastAPI 가 같은 결과를 사용
+            ProcessedImage processed = imagePreprocessor.process(file);
+            try (processed) {
+                return uploadAndPredict(processed, user);
+            }
 
-            // 4) 메타데이터 생성
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
+        } catch (GeneralException e) {
+            log.error("❗ GeneralException 발생: {}", e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneralException(ErrorCode.INTERNAL_SERVER_ERROR,
+                    "이미지 업로드 또는 예측 중 오류가 발생했습니다.");
+        } catch (Exception e) {
+            log.error("🔥 예기치 못한 오류 발생", e);
+            throw new GeneralException(ErrorCode.INTERNAL_SERVER_ERROR,
+                    "이미지 업로드 또는 예측 중 오류가 발생했습니다.");
+        }
+    }
 
-            // 5) S3 업로드
-            String bucket = s3Configure.getBucket();
-            amazonS3.putObject(bucket, key, file.getInputStream(), metadata);
-            log.info("📤 S3 업로드 완료. bucket={}, key={}", bucket, key);
+    private PredictionResponseDto uploadAndPredict(ProcessedImage processed, User user) throws Exception {
+        // 4) 파일 이름 생성
+        String key = UUID.randomUUID() + "-" + processed.getFilename();
+        log.info("📝 생성된 S3 파일명(key)={}, 전처리 후 크기={} bytes", key, processed.getSize());
 
-            // 6) 업로드된 파일 URL 생성
-            String fileUrl = amazonS3.getUrl(bucket, key).toString();
-            log.info("🌐 업로드된 파일 URL={}", fileUrl);
+        // 5) 메타데이터 생성
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(processed.getSize());
+        metadata.setContentType(processed.getContentType());
 
-            // 7) FastAPI 서버 호출
-            log.info("🚀 FastAPI 서버로 이미지 URL 예측 요청 시작");
-            PredictionResponseDto predictionResponse = fastApiProxyService.sendImageUrlToFastApi(fileUrl);
+        // 6) S3 업로드와 FastAPI 예측을 동시에 시작 (서로의 결과가 필요 없음)
+        String bucket = s3Configure.getBucket();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(uploadTimeoutSeconds);
+        Future<?> s3Upload = uploadTaskExecutor.submit(() -> {
+            callMetrics.externalRun("s3", "put", () -> {
+                try (InputStream in = processed.openStream()) {
+                    amazonS3.putObject(bucket, key, in, metadata);
+                }
+            });
+            return null;
+        });
+        Future<PredictionResponseDto> prediction;
+        try {
+            prediction = uploadTaskExecutor.submit(() -> fastApiProxyService.sendImageToFastApi(processed));
+        } catch (RuntimeException e) {
+            // 실행기가 가득 차 거절되면 먼저 시작한 S3 업로드도 취소하고 실패 처리
+            s3Upload.cancel(true);
+            throw e;
+        }
+
+        // 7) S3 업로드 완료 대기. 실패하면 예측도 취소하고 실패 처리
+        try {
+            s3Upload.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            s3Upload.cancel(true);
+            prediction.cancel(true);
+            throw e;
+        }
+        String fileUrl = amazonS3.getUrl(bucket, key).toString();
+        log.info("📤 S3 업로드 완료. bucket={}, key={}, url={}", bucket, key, fileUrl);
+
+        // 8) FastAPI 예측 결과 대기. 실패/타임아웃이어도 이미지는 Unknown 으로 저장
+        PredictionResponseDto predictionResponse;
+        try {
+            predictionResponse = prediction.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
             log.info("✅ FastAPI 예측 완료. 응답={}", predictionResponse);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            prediction.cancel(true);
+            predictionResponse = new PredictionResponseDto();
+        } catch (Exception e) {
+            prediction.cancel(true);
+            log.warn("⚠️ FastAPI 예측 실패 → Unknown 으로 저장: {}", e.toString());
+            predictionResponse = new PredictionResponseDto();
+        }
 
-            // 8) detection 정보 추출
-            List<DetectionDto> detections = predictionResponse.getDetections();
-            log.info("🔍 detection 개수={}", (detections != null ? detections.size() : 0));
+        // 9) detection 정보 추출
+        List<DetectionDto> detections = predictionResponse.getDetections();
+        log.info("🔍 detection 개수={}", (detections != null ? detections.size() : 0));
 
-            int classId = -1;
-            String className = "Unknown";
+        int classId = -1;
+        String className = "Unknown";
 
-            if (detections != null && !detections.isEmpty()) {
-                DetectionDto top = detections.get(0);
-                classId = top.getClassId();
-                className = top.getClassName();
-                log.info("🎯 대표 클래스 선택됨: classId={}, className={}", classId, className);
-            } else {
-                log.info("❓ detection 비어 있음 → Unknown으로 저장");
-            }
+        if (detections != null && !detections.isEmpty()) {
+            DetectionDto top = detections.get(0);
+            classId = top.getClassId();
+            className = top.getClassName();
+            log.info("🎯 대표 클래스 선택됨: classId={}, className={}", classId, className);
+        } else {
+            log.info("❓ detection 비어 있음 → Unknown으로 저장");
+        }
 
-            // 9) DB 저장
-            Images image = Images.builder()
-                    .fileName(key)
-                    .imageUrl(fileUrl)
-                    .user(user)
-                    .classId(classId)
-                    .className(className)
-                    .build();
+        // 10) DB 저장
+        Images image = Images.builder()
+                .fileName(key)
+                .imageUrl(fileUrl)
+                .user(user)
+                .classId(classId)
+                .className(className)
+                .build();
 
-            Images saved = imagesRepository.save(image);
-            log.info("💾 DB 저장 완료. 저장된 이미지 ID={}", saved.getImgId());
+        Images saved = imagesRepository.save(image);
+        log.info("💾 DB 저장 완료. 저장된 이미지 ID={}", saved.getImgId());
 
-            // 10) Response Setting
-            predictionResponse.setImageId(Collections.singletonList(saved.getImgId()));
-            predictionResponse.setDetections(detections);
+        // 11) Response Setting
+        predictionResponse.setImageId(Collections.singletonList(saved.getImgId()));
+        predictionResponse.setDetections(detections);
 
-            log.info("📦 응답 생성 완료. 반환 준비.");
+        log.info("📦 응답 생성 완료. 반환 준비.");
 
-            return predictionResponse;
+        return predictionResponse;
+    }
 
-        } catch (GeneralException e) {
-            log.error("❗ GeneralException 발생: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("🔥 예기치 못한 오류 발생", e);
-            throw new GeneralException(ErrorCode.INTERNAL_SERVER_ERROR,
-                    "이미지 업로드 또는 예측 중 오류가 발생했습니다.");
-        }
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
     }
 
     @Transactional
@@ -146,9 +209,12 @@ public class S3UploadService {
 
         // key 최종 확인
         if (!key.isBlank()) {
-            if (amazonS3.doesObjectExist(bucket, key)) {
-                amazonS3.deleteObject(bucket, key);
-            }
+            String objectKey = key;
+            callMetrics.externalRun("s3", "delete", () -> {
+                if (amazonS3.doesObjectExist(bucket, objectKey)) {
+                    amazonS3.deleteObject(bucket, objectKey);
+                }
+            });
         }
     }
 
@@ -158,27 +224,44 @@ public class S3UploadService {
 
     @Transactional
     public Images uploadAndSaveOnly(MultipartFile file) {
-        try {
-            // 파일 크기 체크
-            if (file.getSize() > MAX_FILE_SIZE) {
-                throw new GeneralException(ErrorCode.INVALID_INPUT_VALUE,
-                        "이미지 용량이 2MB를 초과했습니다. 최대 100MB까지 업로드 가능합니다.");
-            }
+        // 파일 크기 체크
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new GeneralException(ErrorCode.INVALID_INPUT_VALUE,
+                    "이미지 용량이 2MB를 초과했습니다. 최대 100MB까지 업로드 가능합니다.");
+        }
 
+        try (ProcessedImage processed = imagePreprocessor.process(file)) {
+            return uploadAndSaveOnly(processed);
+        } catch (GeneralException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new GeneralException(ErrorCode.INTERNAL_SERVER_ERROR,
+                    "이미지 업로드 중 오류가 발생했습니다.");
+        }
+    }
+
+    /** 이미 전처리된 이미지를 업로드 (OCR 처럼 같은 이미지를 다른 곳에도 보내는 경우) */
+    @Transactional
+    public Images uploadAndSaveOnly(ProcessedImage processed) {
+        try {
             // 로그인 사용자
             User user = authService.getCurrentUser();
 
             // 파일명 생성
-            String key = UUID.randomUUID() + "-" + file.getOriginalFilename();
+            String key = UUID.randomUUID() + "-" + processed.getFilename();
             String bucket = s3Configure.getBucket();
 
             // 메타데이터 생성
             ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
+            metadata.setContentLength(processed.getSize());
+            metadata.setContentType(processed.getContentType());
 
             // S3 업로드
-            amazonS3.putObject(bucket, key, file.getInputStream(), metadata);
+            callMetrics.externalRun("s3", "put", () -> {
+                try (InputStream in = processed.openStream()) {
+                    amazonS3.putObject(bucket, key, in, metadata);
+                }
+            });
 
             // 이미지 URL
             String fileUrl = amazonS3.getUrl(bucket, key).toString();
@@ -203,4 +286,4 @@ public class S3UploadService {
         }
     }
 
-}
\ No newline at end of file
+}
@@ -6,15 +6,17 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
-import snapmeal.snapmeal.domain.NutritionAnalysis;
 import snapmeal.snapmeal.domain.User;
-import snapmeal.snapmeal.global.OpenAiClient;
+import snapmeal.snapmeal.global.LlmGateway;
+import snapmeal.snapmeal.global.CallMetrics;
+import snapmeal.snapmeal.global.RedisKeyspace;
 import snapmeal.snapmeal.global.code.ErrorCode;
+import snapmeal.snapmeal.global.handler.GeneralException;
 import snapmeal.snapmeal.global.handler.RecommendationHandler;
 import snapmeal.snapmeal.global.util.AuthService;
 import snapmeal.snapmeal.global.util.OpenAiConverter;
-import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
 import snapmeal.snapmeal.repository.UserRepository;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
 import snapmeal.snapmeal.web.dto.TodayRecommendationResponseDto;
 
 import java.io.IOException;
@@ -24,91 +26,108 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TodayRecommendationService {
 
-    private final NutritionAnalysisRepository nutritionAnalysisRepository;
-    private final OpenAiClient openAiClient;
+    private final DailyNutritionTotalsService dailyNutritionTotalsService;
+    private final LlmGateway llmGateway;
     private final AuthService authService;
     private final RedisTemplate<String, TodayRecommendationResponseDto> recommendationRedisTemplate;
+    private final RedisKeyspace redisKeyspace;
+    private final CallMetrics callMetrics;
 
 
-    private static final String CACHE_PREFIX = "todayRecommendation:";
+    private static final String CACHE_NAMESPACE = "todayRecommendation";  // 자정에 세대 번호로 한 번에 무효화
 
-    public TodayRecommendationResponseDto generateRecommendation() {
+    /**
+     * 오늘의 추천 (비동기)
+     * - 캐시 조회/칼로리 합계는 요청 스레드에서 처리
+     * - OpenAI 호출은 LlmGateway 로 넘기고, 응답 파싱/캐시 저장은 응답 스레드에서 처리
+     */
+    public CompletableFuture<TodayRecommendationResponseDto> generateRecommendationAsync() {
+        String todayKey;
+        int totalCalories;
+        String prompt;
         try {
             User user = authService.getCurrentUser();
             log.info("[TodayRecommendation] 현재 사용자 ID: {}", user.getId());
 
-            String todayKey = CACHE_PREFIX + user.getId() + ":" + LocalDate.now();
+            todayKey = redisKeyspace.key(CACHE_NAMESPACE, user.getId() + ":" + LocalDate.now());
             log.debug("[TodayRecommendation] 캐시 키: {}", todayKey);
 
-            TodayRecommendationResponseDto cached =
-                    recommendationRedisTemplate.opsForValue().get(todayKey);
+            String cacheKey = todayKey;
+            TodayRecommendationResponseDto cached = callMetrics.cacheGet(CACHE_NAMESPACE,
+                    () -> recommendationRedisTemplate.opsForValue().get(cacheKey));
             if (cached != null) {
                 log.info("[TodayRecommendation] 캐시에서 결과 반환");
-                return cached;
+                return CompletableFuture.completedFuture(cached);
             }
 
-            int totalCalories = calculateTodayCalories(user);
+            totalCalories = calculateTodayCalories(user);
             log.info("[TodayRecommendation] 오늘 섭취 칼로리 합계: {}", totalCalories);
 
-            String prompt = OpenAiConverter.buildTodayRecommendationPrompt(
+            prompt = OpenAiConverter.buildTodayRecommendationPrompt(
                     user.getGender().getDisplayName(),
                     user.getAge(),
                     totalCalories
             );
             log.debug("[TodayRecommendation] 프롬프트 생성 완료: {}", prompt);
 
-            String aiResponse = openAiClient.requestCompletion(
-                    "당신은 건강한 식생활과 운동 코치입니다.",
-                    prompt
-            );
-            log.debug("[TodayRecommendation] OpenAI 응답: {}", aiResponse);
+        } catch (Exception e) {
+            log.error("[TodayRecommendation] 추천 생성 실패: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(
+                    new RecommendationHandler(ErrorCode.RECOMMENDATION_GENERATION_FAILED));
+        }
 
-            String cleanResponse = extractJson(aiResponse);
-            log.debug("[TodayRecommendation] JSON 정제 응답: {}", cleanResponse);
+        return llmGateway.requestCompletionAsync("당신은 건강한 식생활과 운동 코치입니다.", prompt)
+                .thenApply(aiResponse -> toRecommendation(aiResponse, totalCalories, todayKey))
+                .exceptionally(e -> {
+                    Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+                    if (cause instanceof GeneralException generalException) {
+                        throw generalException; // AI_GATEWAY_BUSY 등은 그대로 전달
+                    }
+                    log.error("[TodayRecommendation] 추천 생성 실패: {}", cause.getMessage(), cause);
+                    throw new RecommendationHandler(ErrorCode.RECOMMENDATION_GENERATION_FAILED);
+                });
+    }
 
-            JSONObject json = new JSONObject(cleanResponse);
+    private TodayRecommendationResponseDto toRecommendation(String aiResponse, int totalCalories, String todayKey) {
+        log.debug("[TodayRecommendation] OpenAI 응답: {}", aiResponse);
 
-            int recommendedCalories = json.optInt("recommendedCalories", 2000);
-            int remainingCalories = Math.max(0, recommendedCalories - totalCalories);
-            log.info("[TodayRecommendation] 권장 칼로리: {}, 남은 칼로리: {}",
-                    recommendedCalories, remainingCalories);
+        String cleanResponse = extractJson(aiResponse);
+        log.debug("[TodayRecommendation] JSON 정제 응답: {}", cleanResponse);
 
-            TodayRecommendationResponseDto dto = TodayRecommendationResponseDto.builder()
-                    .consumedCalories(totalCalories)
-                    .remainingCalories(remainingCalories)
-                    .exercises(parseExercises(json.getJSONArray("exercises")))
-                    .foods(parseFoods(json.getJSONArray("foods")))
-                    .build();
+        JSONObject json = new JSONObject(cleanResponse);
 
-            recommendationRedisTemplate.opsForValue().set(todayKey, dto, Duration.ofDays(1));
-            log.info("[TodayRecommendation] 추천 결과 캐시에 저장 완료");
+        int recommendedCalories = json.optInt("recommendedCalories", 2000);
+        int remainingCalories = Math.max(0, recommendedCalories - totalCalories);
+        log.info("[TodayRecommendation] 권장 칼로리: {}, 남은 칼로리: {}",
+                recommendedCalories, remainingCalories);
 
-            return dto;
+        TodayRecommendationResponseDto dto = TodayRecommendationResponseDto.builder()
+                .consumedCalories(totalCalories)
+                .remainingCalories(remainingCalories)
+                .exercises(parseExercises(json.getJSONArray("exercises")))
+                .foods(parseFoods(json.getJSONArray("foods")))
+                .build();
 
-        } catch (Exception e) {
-            log.error("[TodayRecommendation] 추천 생성 실패: {}", e.getMessage(), e);
-            throw new RecommendationHandler(ErrorCode.RECOMMENDATION_GENERATION_FAILED);
-        }
+        callMetrics.cacheSet(CACHE_NAMESPACE,
+                () -> recommendationRedisTemplate.opsForValue().set(todayKey, dto, Duration.ofDays(1)));
+        log.info("[TodayRecommendation] 추천 결과 캐시에 저장 완료");
+
+        return dto;
     }
 
     private int calculateTodayCalories(User user) {
-
-        List<NutritionAnalysis> todayRecords =
-                nutritionAnalysisRepository.findTodayRecords(user, LocalDate.now());
-
-        log.info("🔥 오늘 영양 데이터 개수: {}", todayRecords.size());
-        log.info("🔥 오늘 영양 calories 목록: {}",
-                todayRecords.stream().map(NutritionAnalysis::getCalories).toList());
-
-        return todayRecords.stream()
-                .mapToInt(NutritionAnalysis::getCalories)
-                .sum();
+        // 식단 저장/삭제 때 누적해 둔 하루 합계를 읽음
+        DailyNutritionTotalsDto totals = dailyNutritionTotalsService.get(user.getId(), LocalDate.now());
+        log.info("🔥 오늘 영양 데이터 개수: {}, 칼로리 합계: {}", totals.getMealCount(), totals.getCalories());
+        return (int) totals.getCalories();
     }
 
 
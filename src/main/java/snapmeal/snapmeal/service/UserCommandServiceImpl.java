@@ -10,6 +10,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import snapmeal.snapmeal.config.security.JwtTokenProvider;
+import snapmeal.snapmeal.config.security.PrincipalCache;
+import snapmeal.snapmeal.config.security.TokenRevocationIndex;
 import snapmeal.snapmeal.converter.UserConverter;
 import snapmeal.snapmeal.domain.Challenges;
 import snapmeal.snapmeal.domain.User;
@@ -18,13 +20,15 @@ import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.handler.GeneralException;
 import snapmeal.snapmeal.global.handler.TokenHandler;
 import snapmeal.snapmeal.global.handler.UserHandler;
-import snapmeal.snapmeal.repository.BlacklistRepository;
 import snapmeal.snapmeal.repository.ChallengeRepository;
 import snapmeal.snapmeal.repository.ChallengeReviewRepository;
+import snapmeal.snapmeal.repository.DailyNutritionTotalsRepository;
+import snapmeal.snapmeal.repository.MealMenuTagRepository;
 import snapmeal.snapmeal.repository.MealsRepository;
 import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
 import snapmeal.snapmeal.repository.RefreshTokenRepository;
 import snapmeal.snapmeal.repository.UserRepository;
+import snapmeal.snapmeal.repository.WeeklyReportJobItemRepository;
 import snapmeal.snapmeal.repository.WeeklyReportRepository;
 import snapmeal.snapmeal.web.dto.DietTypeRequestDto;
 import snapmeal.snapmeal.web.dto.TokenServiceResponse;
@@ -40,7 +44,7 @@ public class UserCommandServiceImpl implements UserCommandService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final BlacklistRepository blacklistRepository;
+    private final TokenRevocationIndex tokenRevocationIndex;
     private final S3UploadService s3UploadService;
     private final PasswordEncoder passwordEncoder;
     private final DietTypeService dietTypeService;
@@ -49,6 +53,10 @@ public class UserCommandServiceImpl implements UserCommandService {
     private final MealsRepository mealsRepository;
     private final NutritionAnalysisRepository nutritionAnalysisRepository;
     private final WeeklyReportRepository weeklyReportRepository;
+    private final DailyNutritionTotalsRepository dailyNutritionTotalsRepository;
+    private final MealMenuTagRepository mealMenuTagRepository;
+    private final WeeklyReportJobItemRepository weeklyReportJobItemRepository;
+    private final PrincipalCache principalCache;
 
 
     @Override
@@ -60,6 +68,7 @@ public class UserCommandServiceImpl implements UserCommandService {
         User user = userRepository.findByEmail(email)
                 .map(existingUser -> {
                     updateUserData(existingUser, request);
+                    principalCache.evict(existingUser.getId());
                     return existingUser;
                 })
                 .orElseGet(() -> {
@@ -177,7 +186,7 @@ public class UserCommandServiceImpl implements UserCommandService {
 
     private void blacklistAccessToken(String token) {
         long expiration = jwtTokenProvider.getExpiration(token);
-        blacklistRepository.addToBlacklist(token, expiration);
+        tokenRevocationIndex.revoke(token, expiration);
     }
 
     @Transactional
@@ -192,8 +201,9 @@ public class UserCommandServiceImpl implements UserCommandService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserHandler(ErrorCode.USER_NOT_FOUND));
 
-        // 3. 토큰 삭제 (블랙리스트 + 리프레시 지우기)
+        // 3. 토큰 삭제 (블랙리스트 + 리프레시 지우기, 다른 기기에서 발급된 리프레시 토큰까지)
         deleteTokensForUser(accessToken, refreshToken);
+        refreshTokenRepository.deleteAllTokensByUserId(user.getId());
 
         // 4. 유저가 생성한 챌린지 + 리뷰 삭제
         List<Challenges> challengeList = challengeRepository.findAllByUser(user);
@@ -209,15 +219,19 @@ public class UserCommandServiceImpl implements UserCommandService {
 
         // 6. 식단 삭제
         mealsRepository.deleteAllByUser(user);
+        mealMenuTagRepository.deleteAllByUserId(user.getId());
 
         // 7. 건강 분석 삭제
         nutritionAnalysisRepository.deleteAllByUser(user);
+        dailyNutritionTotalsRepository.deleteAllByUserId(user.getId());
 
         // 8. 주간 리포트 삭제
         weeklyReportRepository.deleteAllByUser(user);
+        weeklyReportJobItemRepository.deleteAllByUserId(user.getId());
 
         // 9. 마지막에 유저 삭제
         userRepository.delete(user);
+        principalCache.evict(user.getId());
     }
 
 
@@ -233,7 +247,7 @@ public class UserCommandServiceImpl implements UserCommandService {
             long expiration = jwtTokenProvider.getExpiration(pureAccessToken);
 
             // 1. 블랙리스트 등록
-            blacklistRepository.addToBlacklist(pureAccessToken, expiration);
+            tokenRevocationIndex.revoke(pureAccessToken, expiration);
 
             // 2. refresh 삭제
             refreshTokenRepository.deleteToken(refreshToken);
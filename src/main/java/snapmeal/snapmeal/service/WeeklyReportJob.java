@@ -0,0 +1,305 @@
+package snapmeal.snapmeal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.domain.WeeklyReportJobItem;
+import snapmeal.snapmeal.domain.WeeklyReports;
+import snapmeal.snapmeal.domain.enums.WeeklyReportJobStatus;
+import snapmeal.snapmeal.global.ClusterJobRunner.JobShard;
+import snapmeal.snapmeal.global.LlmGateway;
+import snapmeal.snapmeal.global.util.WeeklyReportPromptBuilder;
+import snapmeal.snapmeal.repository.NutritionAnalysisRepository;
+import snapmeal.snapmeal.repository.UserRepository;
+import snapmeal.snapmeal.repository.WeeklyReportJobItemRepository;
+import snapmeal.snapmeal.repository.WeeklyReportRepository;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
+import snapmeal.snapmeal.web.dto.WeeklyReportAiResponse;
+import snapmeal.snapmeal.web.dto.WeeklyReportJobStatusDto;
+
+/**
+ * 주간 리포트 일괄 생성 (매주 일요일, WeeklyReportScheduler)
+ * - 1단계(집계): 샤드에 속한 사용자의 한 주 합계를 INSERT ... SELECT 한 번으로 weekly_report_job_items 에 채움
+ * - 2단계(생성): PENDING/재시도 가능한 FAILED 항목을 page-size 개씩 읽어 OpenAI 를 동시에 호출
+ *   동시 수는 weekly-report.max-concurrent (게이트웨이 permit 보다 작게 잘라 대화형 요청 몫을 남김)
+ *   게이트웨이의 배치 호출을 써서 대화형 대기열/대기 시간 한도에 걸리지 않음
+ *   프롬프트의 날짜별 기록은 페이지 사용자 전체를 GROUP BY 사용자/날짜 쿼리 한 번으로 (엔티티를 읽지 않음)
+ *   실패/파싱 오류는 지수 백오프로 retry.max-attempts 번까지 재시도
+ * - 한 바퀴 끝나면 처음(afterId=0)부터 다시 훑어 재시도 가능한 FAILED 가 없어질 때까지 반복
+ *   (누적 시도가 retry.max-total-attempts 에 닿은 항목만 FAILED 로 남음)
+ * - 리스를 잃었거나 재시도 가능한 항목이 남은 채 끝나면 예외 → 샤드 완료 표시가 남지 않아 다시 실행됨
+ * - 3단계(저장): 항목마다 리포트 저장 + DONE 표시를 짧은 트랜잭션 하나로 커밋 (한 사용자 실패가 다른 사용자에 영향 없음)
+ * - LLM 호출 중에는 트랜잭션/커넥션을 잡지 않음
+ * - 진행 상황은 페이지마다 로그 + weekly.report.* 지표 + progress() (관리용 API) 로 노출
+ */
+@Slf4j
+@Component
+public class WeeklyReportJob {
+
+    private static final String SYSTEM_PROMPT = "당신은 건강 관리 전문가입니다.";
+    private static final int ERROR_MAX_LENGTH = 500;
+
+    private record Outcome(WeeklyReportAiResponse parsed, int attempts, String error) {
+    }
+
+    private final WeeklyReportJobItemRepository jobItemRepository;
+    private final WeeklyReportRepository weeklyReportRepository;
+    private final NutritionAnalysisRepository nutritionAnalysisRepository;
+    private final UserRepository userRepository;
+    private final LlmGateway llmGateway;
+    private final WeeklyReportPromptBuilder promptBuilder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int pageSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final int maxTotalAttempts;
+    private final Duration backoff;
+
+    private final Counter doneCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+
+    public WeeklyReportJob(WeeklyReportJobItemRepository jobItemRepository,
+                           WeeklyReportRepository weeklyReportRepository,
+                           NutritionAnalysisRepository nutritionAnalysisRepository,
+                           UserRepository userRepository,
+                           LlmGateway llmGateway,
+                           WeeklyReportPromptBuilder promptBuilder,
+                           ObjectMapper objectMapper,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${weekly-report.page-size:50}") int pageSize,
+                           @Value("${weekly-report.max-concurrent:4}") int maxConcurrent,
+                           @Value("${weekly-report.retry.max-attempts:3}") int maxAttempts,
+                           @Value("${weekly-report.retry.max-total-attempts:9}") int maxTotalAttempts,
+                           @Value("${weekly-report.retry.backoff:2s}") Duration backoff) {
+        this.jobItemRepository = jobItemRepository;
+        this.weeklyReportRepository = weeklyReportRepository;
+        this.nutritionAnalysisRepository = nutritionAnalysisRepository;
+        this.userRepository = userRepository;
+        this.llmGateway = llmGateway;
+        this.promptBuilder = promptBuilder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+        // 게이트웨이 permit 을 전부 쓰지 않도록 최소 1개는 대화형 요청에 남김
+        this.concurrency = Math.max(1, Math.min(maxConcurrent, llmGateway.getMaxConcurrent() - 1));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxTotalAttempts = maxTotalAttempts;
+        this.backoff = backoff;
+
+        this.doneCounter = Counter.builder("weekly.report.items").tag("result", "done").register(meterRegistry);
+        this.failedCounter = Counter.builder("weekly.report.items").tag("result", "failed").register(meterRegistry);
+        this.retryCounter = Counter.builder("weekly.report.llm.retries").register(meterRegistry);
+    }
+
+    /** weekStart(월요일) 주의 리포트를 샤드 하나만큼 생성 */
+    public void run(LocalDate weekStart, JobShard shard) {
+        long started = System.currentTimeMillis();
+
+        // 1단계: 집계
+        LocalDateTime start = weekStart.atStartOfDay();
+        LocalDateTime end = weekStart.plusDays(7).atStartOfDay();
+        Integer seeded = transactionTemplate.execute(status ->
+                jobItemRepository.seed(weekStart, start, end, shard.total(), shard.index()));
+        log.info("[WeeklyReport] {} 샤드 {}/{} 집계: {}행", weekStart, shard.index(), shard.total(), seeded);
+
+        // 2~3단계: 페이지마다 동시 생성 후 항목별 커밋. 재시도 가능한 항목이 없어질 때까지 처음부터 다시
+        Semaphore slots = new Semaphore(concurrency);
+        int maxPasses = (maxTotalAttempts + maxAttempts - 1) / maxAttempts + 1;
+        int done = 0;
+        int failed = 0;
+        for (int pass = 1; ; pass++) {
+            if (pass > maxPasses) {
+                // 실패 상태 저장까지 실패한 항목 등. 완료로 표시하지 않고 다음 실행에 맡김
+                throw new IllegalStateException("재시도 가능한 주간 리포트 항목이 남음: " + weekStart);
+            }
+            int passFailed = 0;
+            boolean found = false;
+            long afterId = 0L;
+            while (true) {
+                List<WeeklyReportJobItem> items = jobItemRepository.findRunnable(weekStart, maxTotalAttempts, afterId,
+                        shard.total(), shard.index(), PageRequest.of(0, pageSize));
+                if (items.isEmpty()) {
+                    break;
+                }
+                found = true;
+                requireLease(shard);
+                afterId = items.get(items.size() - 1).getId();
+
+                // 페이지 사용자들의 날짜별 합계를 쿼리 한 번으로
+                Map<Long, List<DailyNutritionTotalsDto>> daysByUser = nutritionAnalysisRepository
+                        .sumDailyTotalsByUsers(items.stream().map(WeeklyReportJobItem::getUserId).toList(), start, end)
+                        .stream()
+                        .collect(Collectors.groupingBy(DailyNutritionTotalsDto::getUserId));
+
+                // 동시 수 제한: 슬롯은 재시도/백오프까지 포함해 항목 결과가 나올 때 반납
+                List<CompletableFuture<Outcome>> futures = new ArrayList<>(items.size());
+                for (WeeklyReportJobItem item : items) {
+                    String prompt = promptBuilder.buildWeeklyReportPrompt(daysByUser.getOrDefault(item.getUserId(), List.of()),
+                            toFloat(item.getTotalCalories()), toFloat(item.getTotalCarbs()));
+                    slots.acquireUninterruptibly();
+                    futures.add(generate(prompt, 1).whenComplete((outcome, e) -> slots.release()));
+                }
+                for (int i = 0; i < items.size(); i++) {
+                    Outcome outcome = futures.get(i).join();
+                    requireLease(shard);
+                    if (persist(items.get(i), weekStart, outcome, shard)) {
+                        done++;
+                    } else {
+                        failed++;
+                        passFailed++;
+                    }
+                }
+
+                WeeklyReportJobStatusDto progress = progress(weekStart);
+                log.info("[WeeklyReport] {} {}회차 진행: 이번 실행 완료 {}건 / 실패 {}건 (전체 대기 {}, 완료 {}, 실패 {})",
+                        weekStart, pass, done, failed, progress.getPending(), progress.getDone(), progress.getFailed());
+            }
+            if (!found) {
+                break;
+            }
+            if (passFailed > 0) {
+                pause(backoff);
+            }
+        }
+
+        log.info("[WeeklyReport] {} 샤드 {}/{} 생성 완료: 완료 {}건, 실패 {}건 ({} ms)",
+                weekStart, shard.index(), shard.total(), done, failed, System.currentTimeMillis() - started);
+    }
+
+    // 리스를 잃었으면 더 쓰지 않고 예외로 중단 (샤드는 완료 표시 없이 남음)
+    private void requireLease(JobShard shard) {
+        if (!shard.checkLease()) {
+            throw new IllegalStateException("주간 리포트 샤드 리스 상실: " + shard.index() + "/" + shard.total());
+        }
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주간 리포트 작업 중단", e);
+        }
+    }
+
+    /** 상태별 항목 수 */
+    public WeeklyReportJobStatusDto progress(LocalDate weekStart) {
+        Map<WeeklyReportJobStatus, Long> counts = new EnumMap<>(WeeklyReportJobStatus.class);
+        for (WeeklyReportJobItemRepository.StatusCount row : jobItemRepository.countByStatus(weekStart)) {
+            counts.put(row.getStatus(), row.getCount());
+        }
+        return WeeklyReportJobStatusDto.builder()
+                .weekStart(weekStart)
+                .pending(counts.getOrDefault(WeeklyReportJobStatus.PENDING, 0L))
+                .done(counts.getOrDefault(WeeklyReportJobStatus.DONE, 0L))
+                .failed(counts.getOrDefault(WeeklyReportJobStatus.FAILED, 0L))
+                .build();
+    }
+
+    // OpenAI 호출 + 파싱. 실패하면 backoff × 2^(attempt-1) (+지터) 뒤 재시도
+    private CompletableFuture<Outcome> generate(String prompt, int attempt) {
+        return llmGateway.requestBatchCompletionAsync(SYSTEM_PROMPT, prompt)
+                .thenApply(raw -> new Outcome(parse(raw), attempt, null))
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (attempt >= maxAttempts) {
+                        return CompletableFuture.completedFuture(new Outcome(null, attempt, cause.toString()));
+                    }
+                    retryCounter.increment();
+                    long delay = backoff.toMillis() * (1L << (attempt - 1))
+                            + ThreadLocalRandom.current().nextLong(Math.max(1L, backoff.toMillis() / 2));
+                    return CompletableFuture
+                            .runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> generate(prompt, attempt + 1));
+                });
+    }
+
+    private WeeklyReportAiResponse parse(String raw) {
+        try {
+            String cleaned = raw.replaceAll("(?s)```json|```", "").trim();
+            return objectMapper.readValue(cleaned, WeeklyReportAiResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("리포트 응답 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // 항목 하나 커밋. 성공하면 true
+    private boolean persist(WeeklyReportJobItem item, LocalDate weekStart, Outcome outcome, JobShard shard) {
+        if (outcome.parsed() == null) {
+            markFailed(item, outcome.attempts(), outcome.error(), shard);
+            return false;
+        }
+        try {
+            String caloriePatternJson = objectMapper.writeValueAsString(outcome.parsed().getCaloriePattern());
+            String healthGuidanceJson = objectMapper.writeValueAsString(outcome.parsed().getHealthGuidance());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                shard.fence();
+                User user = userRepository.getReferenceById(item.getUserId());
+                // 같은 주 리포트가 이미 있으면 다시 만들지 않음 (수동 실행과 겹친 경우 등)
+                if (weeklyReportRepository.findByUserAndReportDate(user, weekStart).isEmpty()) {
+                    weeklyReportRepository.save(WeeklyReports.builder()
+                            .user(user)
+                            .reportDate(weekStart)
+                            .totalCalories(toFloat(item.getTotalCalories()))
+                            .totalProtein(toFloat(item.getTotalProtein()))
+                            .totalSugar(toFloat(item.getTotalSugar()))
+                            .totalFat(toFloat(item.getTotalFat()))
+                            .totalCarbs(toFloat(item.getTotalCarbs()))
+                            .nutritionSummary(outcome.parsed().getNutritionSummary())
+                            .caloriePattern(caloriePatternJson)
+                            .healthGuidance(healthGuidanceJson)
+                            .build());
+                }
+                jobItemRepository.markDone(item.getId(), outcome.attempts());
+            });
+            doneCounter.increment();
+            return true;
+        } catch (Exception e) {
+            log.error("[WeeklyReport] 리포트 저장 실패 - userId: {}", item.getUserId(), e);
+            markFailed(item, outcome.attempts(), e.toString(), shard);
+            return false;
+        }
+    }
+
+    private void markFailed(WeeklyReportJobItem item, int attempts, String error, JobShard shard) {
+        log.warn("[WeeklyReport] 리포트 생성 실패 - userId: {}, 시도 {}회: {}", item.getUserId(), attempts, error);
+        failedCounter.increment();
+        String message = error == null ? null : error.substring(0, Math.min(ERROR_MAX_LENGTH, error.length()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                shard.fence();
+                jobItemRepository.markFailed(item.getId(), attempts, message);
+            });
+        } catch (Exception e) {
+            // 상태를 못 남겨도 PENDING 으로 남아 다음 실행에서 다시 처리됨
+            log.error("[WeeklyReport] 실패 상태 저장 실패 - itemId: {}", item.getId(), e);
+        }
+    }
+
+    private static float toFloat(Double value) {
+        return value == null ? 0f : value.floatValue();
+    }
+}
@@ -1,45 +1,51 @@
 package snapmeal.snapmeal.service;
 
-import java.util.Set;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import snapmeal.snapmeal.global.ClusterJobRunner;
+import snapmeal.snapmeal.global.RedisKeyspace;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class WeeklyReportScheduler {
 
-    private final WeeklyReportService weeklyReportService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final WeeklyReportJob weeklyReportJob;
+    private final RedisKeyspace redisKeyspace;
+    private final ClusterJobRunner clusterJobRunner;
 
-    // 매주 일요일 23시 59분 실행
-    @Scheduled(cron = "0 59 23 * * SUN")
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 매주 일요일 23시 59분 (한국시간) 이번 주(월~일) 리포트 생성 (인스턴스가 여럿이면 샤드 단위로 나눠 한 번씩만)
+    @Scheduled(cron = "0 59 23 * * SUN", zone = "Asia/Seoul")
     public void generateWeeklyReports() {
-        weeklyReportService.generateWeeklyReports();
+        LocalDate weekStart = LocalDate.now(KST).with(DayOfWeek.MONDAY);
+        clusterJobRunner.runSharded("weeklyReport", weekStart.toString(),
+                shard -> weeklyReportJob.run(weekStart, shard));
     }
 
-    // 매일 00:00 (한국시간)
+    // 매일 00:00 (한국시간), 한 노드에서만
+    // 키를 지우지 않고 세대 번호만 올림 (INCR 한 번). 이전 세대 키는 SCAN 으로 조금씩 UNLINK (남아도 TTL 로 만료)
     @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
     public void clearDailyCache() {
-        log.info("[DailyCacheClear] 자정 캐시 초기화 시작");
+        clusterJobRunner.runOnce("dailyCacheClear", LocalDate.now(KST).toString(), shard -> {
+            log.info("[DailyCacheClear] 자정 캐시 초기화 시작");
 
-        clearPattern("todayNutrition:*");
-        clearPattern("todayRecommendation:*");
+            invalidate("todayNutrition");
+            invalidate("todayRecommendation");
 
-        log.info("[DailyCacheClear] 자정 캐시 초기화 완료");
+            log.info("[DailyCacheClear] 자정 캐시 초기화 완료");
+        });
     }
 
-    private void clearPattern(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("[DailyCacheClear] 삭제된 키 개수: {} (패턴: {})", keys.size(), pattern);
-        } else {
-            log.info("[DailyCacheClear] 삭제할 키 없음 (패턴: {})", pattern);
-        }
+    private void invalidate(String namespace) {
+        long epoch = redisKeyspace.invalidate(namespace);
+        long removed = redisKeyspace.scanUnlink(namespace + ":v" + (epoch - 1) + ":*");
+        log.info("[DailyCacheClear] {} 세대 {} → {}, 이전 세대 키 {}개 정리", namespace, epoch - 1, epoch, removed);
     }
 }
-
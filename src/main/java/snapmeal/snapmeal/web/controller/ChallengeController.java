@@ -1,6 +1,7 @@
 package snapmeal.snapmeal.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import snapmeal.snapmeal.global.util.AuthService;
+import snapmeal.snapmeal.global.util.CurrentUser;
 import snapmeal.snapmeal.service.ChallengeGeneratorService;
 import snapmeal.snapmeal.service.ChallengeService;
 import snapmeal.snapmeal.web.dto.ChallengeDto;
@@ -110,9 +112,9 @@ public class ChallengeController {
             )
     })
     @GetMapping("/{challengeId}")
-    public ChallengeDto.Response getChallengeDetail(@PathVariable Long challengeId) {
-        var currentUser = authService.getCurrentUser();
-        return challengeService.getDetail(challengeId, currentUser.getId());
+    public ChallengeDto.Response getChallengeDetail(@PathVariable Long challengeId,
+                                                    @Parameter(hidden = true) @CurrentUser Long userId) {
+        return challengeService.getDetail(challengeId, userId);
     }
 
 
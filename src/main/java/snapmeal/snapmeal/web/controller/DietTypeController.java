@@ -4,6 +4,8 @@ package snapmeal.snapmeal.web.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import snapmeal.snapmeal.global.util.DeferredResults;
 import snapmeal.snapmeal.service.DietTypeService;
 import snapmeal.snapmeal.web.dto.DietTypeRequestDto;
 import snapmeal.snapmeal.web.dto.DietTypeResponseDto;
@@ -18,7 +20,7 @@ public class DietTypeController {
 
 
     @PostMapping
-    public ResponseEntity<DietTypeResponseDto> analyze(@RequestBody DietTypeRequestDto request) {
-        return ResponseEntity.ok(dietTypeService.analyzeDietType(request));
+    public DeferredResult<ResponseEntity<DietTypeResponseDto>> analyze(@RequestBody DietTypeRequestDto request) {
+        return DeferredResults.of(dietTypeService.analyzeDietTypeAsync(request).thenApply(ResponseEntity::ok));
     }
 }
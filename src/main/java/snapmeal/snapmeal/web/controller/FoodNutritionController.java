@@ -9,8 +9,10 @@ import snapmeal.snapmeal.global.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.swagger.ApiErrorCodeExamples;
+import snapmeal.snapmeal.global.util.DeferredResults;
 import snapmeal.snapmeal.service.FoodNutritionService;
 import snapmeal.snapmeal.web.dto.NutritionRequestDto;
 import snapmeal.snapmeal.web.dto.TodayNutritionResponseDto;
@@ -38,7 +40,7 @@ public class FoodNutritionController {
             ErrorCode.BAD_REQUEST
     })
     @PostMapping("/analyze")
-    public ResponseEntity<ApiResponse<NutritionRequestDto.TotalNutritionRequestDto>> analyzeNutrition(
+    public DeferredResult<ResponseEntity<ApiResponse<NutritionRequestDto.TotalNutritionRequestDto>>> analyzeNutrition(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "음식 이름 목록과 분석할 이미지 ID",
                     required = true,
@@ -53,8 +55,8 @@ public class FoodNutritionController {
             )
             @RequestBody NutritionRequestDto.FoodNutritionRequestDto request
     ) {
-        NutritionRequestDto.TotalNutritionRequestDto result = foodNutritionService.analyze(request);
-        return ResponseEntity.ok(ApiResponse.onSuccess(result));
+        return DeferredResults.of(foodNutritionService.analyzeAsync(request)
+                .thenApply(result -> ResponseEntity.ok(ApiResponse.onSuccess(result))));
     }
 
     @GetMapping("/today")
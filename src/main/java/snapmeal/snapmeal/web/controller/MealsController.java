@@ -1,20 +1,20 @@
 package snapmeal.snapmeal.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import snapmeal.snapmeal.converter.MealsConverter;
 import snapmeal.snapmeal.domain.Meals;
-import snapmeal.snapmeal.domain.User;
 import snapmeal.snapmeal.global.ApiResponse;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.swagger.ApiErrorCodeExamples;
+import snapmeal.snapmeal.global.util.CurrentUser;
 import snapmeal.snapmeal.service.MealsService;
 import snapmeal.snapmeal.web.dto.MealsRequestDto;
 import snapmeal.snapmeal.web.dto.MealsResponseDto;
@@ -77,10 +77,10 @@ public class MealsController {
             ErrorCode.USER_NOT_FOUND
     })
     public ResponseEntity<ApiResponse<List<MealsResponseDto>>> listMyMeals(
-            @AuthenticationPrincipal User loginUser
+            @Parameter(hidden = true) @CurrentUser Long userId
     ) {
         List<MealsResponseDto> result = mealsService
-                .getMyMeals(loginUser)
+                .getMyMeals(userId)
                 .stream()
                 .map(mealsConverter::toDto)
                 .collect(Collectors.toList());
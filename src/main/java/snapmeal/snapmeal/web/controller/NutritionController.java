@@ -13,7 +13,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import snapmeal.snapmeal.domain.Images;
+import snapmeal.snapmeal.global.util.ImagePreprocessor;
+import snapmeal.snapmeal.global.util.ProcessedImage;
 import snapmeal.snapmeal.service.NutritionAnalysisService;
 import snapmeal.snapmeal.service.NutritionParsingService;
 import snapmeal.snapmeal.service.OpenAiVisionService;
@@ -27,19 +31,23 @@ public class NutritionController {
 
     private final NutritionAnalysisService nutritionAnalysisService;
     private final S3UploadService s3UploadService;  // 이미 이미지 업로드용 서비스 있을 거라고 가정
+    private final ImagePreprocessor imagePreprocessor;
 
     @PostMapping(value = "/ocr", consumes = "multipart/form-data")
     public ResponseEntity<NutritionOcrResponseDto> analyzeNutrition(
             @RequestPart("file") MultipartFile file
-    ) {
-        // 1) 먼저 이미지를 S3에 업로드하고 Images 엔티티를 만든다고 가정
-        Images image = s3UploadService.uploadAndSaveOnly(file);
+    ) throws IOException {
+        // 0) 이미지 전처리는 한 번만 하고 S3 업로드와 OCR 에 같이 사용
+        try (ProcessedImage processed = imagePreprocessor.process(file)) {
+            // 1) 먼저 이미지를 S3에 업로드하고 Images 엔티티를 만든다고 가정
+            Images image = s3UploadService.uploadAndSaveOnly(processed);
 
-        // 2) OCR + DB 저장 + nutritionId 포함 DTO 반환
-        NutritionOcrResponseDto response = nutritionAnalysisService.analyzeAndSave(file, image);
+            // 2) OCR + DB 저장 + nutritionId 포함 DTO 반환
+            NutritionOcrResponseDto response = nutritionAnalysisService.analyzeAndSave(processed, image);
 
-        // 3) 프론트로 nutritionId 포함해서 응답
-        return ResponseEntity.ok(response);
+            // 3) 프론트로 nutritionId 포함해서 응답
+            return ResponseEntity.ok(response);
+        }
     }
 }
 
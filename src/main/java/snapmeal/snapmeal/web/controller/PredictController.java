@@ -2,6 +2,7 @@ package snapmeal.snapmeal.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +13,7 @@ import java.io.File;
 import java.io.InputStreamReader;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api")
 public class PredictController {
@@ -35,11 +37,9 @@ public class PredictController {
             int exitCode = process.waitFor();
             BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
             String line;
-            System.out.println("=== Python stderr ===");
             while ((line = errorReader.readLine()) != null) {
-                System.err.println(line);  // 에러 출력 로그 확인
+                log.warn("[Predict] python stderr: {}", line);  // 에러 출력 로그 확인
             }
-            System.out.println("=== End stderr ===");
 
             if (exitCode == 0) {
                 return ResponseEntity.ok(Map.of("class_id", result));
@@ -11,6 +11,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import snapmeal.snapmeal.global.util.DeferredResults;
 import snapmeal.snapmeal.service.TodayRecommendationService;
 import snapmeal.snapmeal.web.dto.TodayRecommendationResponseDto;
 
@@ -30,9 +32,8 @@ public class RecommendationController {
                             schema = @Schema(implementation = TodayRecommendationResponseDto.class)))
     })
     @GetMapping("/today")
-    public ResponseEntity<TodayRecommendationResponseDto> getTodayRecommendation() {
-        TodayRecommendationResponseDto dto = recommendationService.generateRecommendation();
-        return ResponseEntity.ok(dto);
+    public DeferredResult<ResponseEntity<TodayRecommendationResponseDto>> getTodayRecommendation() {
+        return DeferredResults.of(recommendationService.generateRecommendationAsync().thenApply(ResponseEntity::ok));
     }
 
 
@@ -8,12 +8,17 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import snapmeal.snapmeal.global.ApiResponse;
+import snapmeal.snapmeal.global.ClusterJobRunner;
 import snapmeal.snapmeal.global.code.ErrorCode;
 import snapmeal.snapmeal.global.swagger.ApiErrorCodeExamples;
+import snapmeal.snapmeal.service.WeeklyReportJob;
 import snapmeal.snapmeal.service.WeeklyReportService;
+import snapmeal.snapmeal.web.dto.WeeklyReportJobStatusDto;
 import snapmeal.snapmeal.web.dto.WeeklyReportResponseDto;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,7 +26,11 @@ import java.time.LocalDate;
 @RequestMapping("/reports")
 public class WeeklyReportController {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final WeeklyReportService weeklyReportService;
+    private final WeeklyReportJob weeklyReportJob;
+    private final ClusterJobRunner clusterJobRunner;
 
 
     @GetMapping("/weekly")
@@ -48,10 +57,23 @@ public class WeeklyReportController {
 
 
 
-    // 테스트용 수동 리포트 생성 API
+    // 테스트용 수동 리포트 생성 API (이번 주, 실패/미처리 사용자만 이어서 생성)
     @PostMapping("/weekly/generate")
     public ResponseEntity<Void> generateManually()  {
-        weeklyReportService.generateWeeklyReports(); // 스케줄러와 동일한 로직 호출
+        LocalDate weekStart = LocalDate.now(KST).with(DayOfWeek.MONDAY);
+        // 스케줄러와 동일한 로직 호출 (같은 락을 쓰므로 정기 실행 중이면 그 샤드는 건너뜀)
+        clusterJobRunner.runSharded("weeklyReport", "manual-" + System.currentTimeMillis(),
+                shard -> weeklyReportJob.run(weekStart, shard));
         return ResponseEntity.ok().build();
     }
+
+    // 일괄 생성 진행 상황 (상태별 사용자 수)
+    @GetMapping("/weekly/generate/status")
+    public ResponseEntity<ApiResponse<WeeklyReportJobStatusDto>> generationStatus(
+            @RequestParam(value = "weekStart", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart
+    ) {
+        LocalDate target = weekStart != null ? weekStart : LocalDate.now(KST).with(DayOfWeek.MONDAY);
+        return ResponseEntity.ok(ApiResponse.onSuccess(weeklyReportJob.progress(target)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package snapmeal.snapmeal.web.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 하루 영양 합계
+ * - JPQL 집계(new ...)와 DailyNutritionTotals 캐시 조회 결과에 같이 사용
+ * - SUM 결과가 null 이면 0 으로 채움
+ */
+@Getter
+public class DailyNutritionTotalsDto {
+
+    private final Long userId;
+    private final LocalDate mealDate;
+    private final long calories;
+    private final double protein;
+    private final double carbs;
+    private final double sugar;
+    private final double fat;
+    private final double sodium;
+    private final long mealCount;
+
+    @Builder
+    public DailyNutritionTotalsDto(Long userId, LocalDate mealDate, Long calories, Double protein, Double carbs,
+                                   Double sugar, Double fat, Double sodium, Long mealCount) {
+        this.userId = userId;
+        this.mealDate = mealDate;
+        this.calories = calories == null ? 0L : calories;
+        this.protein = protein == null ? 0.0 : protein;
+        this.carbs = carbs == null ? 0.0 : carbs;
+        this.sugar = sugar == null ? 0.0 : sugar;
+        this.fat = fat == null ? 0.0 : fat;
+        this.sodium = sodium == null ? 0.0 : sodium;
+        this.mealCount = mealCount == null ? 0L : mealCount;
+    }
+
+    public static DailyNutritionTotalsDto empty(Long userId, LocalDate mealDate) {
+        return new DailyNutritionTotalsDto(userId, mealDate, 0L, 0.0, 0.0, 0.0, 0.0, 0.0, 0L);
+    }
+
+    public boolean isEmpty() {
+        return mealCount == 0;
+    }
+
+    /** 재계산 시 저장값과 원본 집계가 같은지 비교 (소수 오차 허용) */
+    public boolean sameTotals(DailyNutritionTotalsDto other) {
+        return calories == other.calories
+                && mealCount == other.mealCount
+                && Math.abs(protein - other.protein) < 1e-6
+                && Math.abs(carbs - other.carbs) < 1e-6
+                && Math.abs(sugar - other.sugar) < 1e-6
+                && Math.abs(fat - other.fat) < 1e-6
+                && Math.abs(sodium - other.sodium) < 1e-6;
+    }
+}
@@ -37,6 +37,10 @@ public class FoodApiResponseDto {
 
         // **실제 응답 JSON 키 (AMT_NUMx)와 Service 코드에서 사용하는 필드 이름(name, kcal) 매핑**
 
+        // 식품 코드 - 로컬 적재 시 upsert 키로 사용
+        @JsonProperty("FOOD_CD")
+        private String foodCode;
+
         @JsonProperty("FOOD_NM_KR")
         private String name; // 음식 이름
 
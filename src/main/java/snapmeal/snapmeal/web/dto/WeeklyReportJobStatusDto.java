@@ -0,0 +1,26 @@
+package snapmeal.snapmeal.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "주간 리포트 일괄 생성 진행 상황")
+public class WeeklyReportJobStatusDto {
+
+    @Schema(description = "리포트 주차 시작일(월요일)", example = "2025-07-14")
+    private LocalDate weekStart;
+
+    @Schema(description = "생성 대기 중인 사용자 수", example = "120")
+    private long pending;
+
+    @Schema(description = "리포트 생성 완료 사용자 수", example = "3400")
+    private long done;
+
+    @Schema(description = "재시도 후에도 실패한 사용자 수", example = "3")
+    private long failed;
+}
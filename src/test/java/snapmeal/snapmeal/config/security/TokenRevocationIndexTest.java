@@ -0,0 +1,158 @@
+package snapmeal.snapmeal.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import snapmeal.snapmeal.global.util.BloomFilter;
+import snapmeal.snapmeal.repository.BlacklistRepository;
+
+/**
+ * 재구성(rebuild) 도중 들어온 폐기가 새 필터에서 빠지지 않는지
+ * - Redis 의 폐기 목록은 ConcurrentHashMap 으로 흉내: 순회 도중 추가된 원소는 보일 수도 안 보일 수도 있음 (SCAN 과 같음)
+ * - 필터에서 빠지면 isRevoked 가 Redis 확인 없이 false 를 돌려주므로, 폐기된 jti 는 모두 true 여야 함
+ * - 교체 경합은 필터 put 을 멈춰 세워 순서를 고정해 재현
+ */
+class TokenRevocationIndexTest {
+
+    private final Set<String> revokedInRedis = ConcurrentHashMap.newKeySet();
+    private BlacklistRepository blacklistRepository;
+    private TestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        blacklistRepository = mock(BlacklistRepository.class);
+        when(blacklistRepository.isJtiRevoked(anyString())).thenAnswer(inv -> revokedInRedis.contains(inv.<String>getArgument(0)));
+        doAnswer(inv -> {
+            Consumer<String> consumer = inv.getArgument(1);
+            revokedInRedis.forEach(consumer);
+            return null;
+        }).when(blacklistRepository).forEachRevokedJti(anyInt(), any());
+
+        index = new TestIndex(blacklistRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void revokedAfterScanPassedIsInRebuiltFilter() {
+        // SCAN 이 이미 지나간 뒤 다른 노드에서 폐기 → pub/sub 으로 도착
+        doAnswer(inv -> {
+            Consumer<String> consumer = inv.getArgument(1);
+            revokedInRedis.forEach(consumer);
+            revoke("late-jti");
+            return null;
+        }).when(blacklistRepository).forEachRevokedJti(anyInt(), any());
+
+        index.rebuild();
+
+        assertThat(index.isRevoked(claims("late-jti"), "token")).isTrue();
+    }
+
+    @Test
+    void revocationRacingTheSwapIsInRebuiltFilter() throws Exception {
+        // 옛 필터에 넣는 도중 재구성이 끝나 current 가 바뀌는 경우
+        BlockingFilter old = (BlockingFilter) index.lastCreated();
+        old.blockOn("racing-jti");
+        Thread revoker = new Thread(() -> revoke("racing-jti"));
+
+        doAnswer(inv -> {
+            Consumer<String> consumer = inv.getArgument(1);
+            revokedInRedis.forEach(consumer);
+            // SCAN 이 지나간 뒤 폐기가 시작되고, 옛 필터에 넣는 중에 재구성이 끝남
+            revoker.start();
+            old.awaitBlocked();
+            return null;
+        }).when(blacklistRepository).forEachRevokedJti(anyInt(), any());
+
+        index.rebuild();
+        old.release();
+        revoker.join();
+
+        assertThat(index.lastCreated()).isNotSameAs(old);
+        assertThat(index.isRevoked(claims("racing-jti"), "token")).isTrue();
+    }
+
+    /** 만드는 필터를 BlockingFilter 로 바꾼 인덱스 */
+    private static class TestIndex extends TokenRevocationIndex {
+
+        private volatile BloomFilter lastCreated;
+
+        TestIndex(BlacklistRepository blacklistRepository) {
+            super(blacklistRepository, mock(JwtTokenProvider.class), mock(RedisMessageListenerContainer.class),
+                    new SimpleMeterRegistry(), 100_000, 0.001, 1000);
+        }
+
+        @Override
+        BloomFilter newFilter() {
+            BloomFilter filter = new BlockingFilter();
+            lastCreated = filter;
+            return filter;
+        }
+
+        BloomFilter lastCreated() {
+            return lastCreated;
+        }
+    }
+
+    /** 지정한 jti 를 넣을 때 release() 까지 멈추는 필터 */
+    private static class BlockingFilter extends BloomFilter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile String blockOn;
+
+        BlockingFilter() {
+            super(100_000, 0.001);
+        }
+
+        void blockOn(String jti) {
+            blockOn = jti;
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public void put(String value) {
+            if (value.equals(blockOn)) {
+                blocked.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.put(value);
+        }
+    }
+
+    // revoke() 와 같은 순서: Redis 에 쓴 뒤 로컬 필터에 반영
+    private void revoke(String jti) {
+        revokedInRedis.add(jti);
+        index.add(jti);
+    }
+
+    private static Claims claims(String jti) {
+        return Jwts.claims().setId(jti);
+    }
+}
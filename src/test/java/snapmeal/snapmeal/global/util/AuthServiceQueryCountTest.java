@@ -0,0 +1,262 @@
+package snapmeal.snapmeal.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.CustomScopeConfigurer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import snapmeal.snapmeal.config.security.UserPrincipal;
+import snapmeal.snapmeal.converter.MealsConverter;
+import snapmeal.snapmeal.domain.Meals;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.domain.enums.MealType;
+import snapmeal.snapmeal.domain.enums.Role;
+import snapmeal.snapmeal.global.RedisKeyspace;
+import snapmeal.snapmeal.service.ChallengeStampEngine;
+import snapmeal.snapmeal.service.DailyNutritionTotalsService;
+import snapmeal.snapmeal.service.MealMenuTagService;
+import snapmeal.snapmeal.service.MealsService;
+import snapmeal.snapmeal.web.dto.MealsRequestDto;
+
+/**
+ * 현재 사용자 조회 쿼리 수 회귀 테스트 (MySQL 컨테이너, Docker 없으면 건너뜀)
+ * - 요청 하나에서 getCurrentUser() 를 여러 번 불러도 사용자 SELECT 는 한 번
+ * - id 만 쓰는 경로(getCurrentUserId / getCurrentUserReference)는 사용자 SELECT 없음
+ * - 호출 사이마다 영속성 컨텍스트를 비워, 1차 캐시가 아니라 요청 보관소 덕분에 한 번인지 확인
+ * - MealsService 의 실제 메서드(getMeal / updateMeal / getMealsByDate)의 쿼리 수 고정
+ *   (Redis·합계·태그·스탬프 같은 협력 객체는 mock, DB 접근만 실제)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({AuthService.class, CurrentUserContext.class, MealsService.class,
+        AuthServiceQueryCountTest.RequestScopeConfig.class})
+class AuthServiceQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    // DataJpaTest 는 웹 컨텍스트가 아니므로 request 스코프를 직접 등록
+    @TestConfiguration
+    static class RequestScopeConfig {
+        @Bean
+        static CustomScopeConfigurer requestScopeConfigurer() {
+            CustomScopeConfigurer configurer = new CustomScopeConfigurer();
+            configurer.addScope(WebApplicationContext.SCOPE_REQUEST, new RequestScope());
+            return configurer;
+        }
+    }
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private CurrentUserContext currentUserContext;
+
+    @Autowired
+    private MealsService mealsService;
+
+    @MockitoBean
+    private MealsConverter mealsConverter;
+
+    @MockitoBean
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @MockitoBean
+    private RedisKeyspace redisKeyspace;
+
+    @MockitoBean
+    private DailyNutritionTotalsService dailyNutritionTotalsService;
+
+    @MockitoBean
+    private MealMenuTagService mealMenuTagService;
+
+    @MockitoBean
+    private ChallengeStampEngine challengeStampEngine;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private User user;
+    private Meals meal;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = em.persist(User.builder().email("me@snapmeal.test").role(Role.USER).build());
+        meal = em.persist(Meals.builder()
+                .mealType(MealType.LUNCH)
+                .menu("김치찌개")
+                .mealDate(LocalDateTime.now())
+                .user(user)
+                .build());
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentUser_selectsOncePerRequest() {
+        loginWithPrincipal();
+
+        // 매 호출 전에 영속성 컨텍스트를 비움 → 보관소가 없으면 호출마다 SELECT
+        long queries = countQueries(() -> {
+            User first = authService.getCurrentUser();
+            em.clear();
+            User second = authService.getCurrentUser();
+            em.clear();
+            User third = authService.getCurrentUser();
+
+            assertThat(second).isSameAs(first);
+            assertThat(third).isSameAs(first);
+        });
+
+        assertThat(queries).isEqualTo(1);
+        assertThat(currentUserContext.getUser()).isNotNull();
+        assertThat(currentUserContext.getUser().getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void getCurrentUser_legacyEmailToken_selectsOncePerRequest() {
+        // uid 클레임이 없는 예전 토큰: 이메일 조회도 요청당 한 번
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "", List.of()));
+
+        long queries = countQueries(() -> {
+            authService.getCurrentUser();
+            em.clear();
+            authService.getCurrentUser();
+        });
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void idOnlyAccess_runsNoUserSelect() {
+        loginWithPrincipal();
+
+        long queries = countQueries(() -> {
+            assertThat(authService.getCurrentUserId()).isEqualTo(user.getId());
+            assertThat(authService.getCurrentUserReference().getId()).isEqualTo(user.getId());
+        });
+
+        assertThat(queries).isZero();
+    }
+
+    @Test
+    void listMyMeals_runsSingleQuery() {
+        loginWithPrincipal();
+
+        long queries = countQueries(() ->
+                assertThat(mealsService.getMyMeals(authService.getCurrentUserId())).hasSize(1));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void getMealsByDate_runsSingleQuery() {
+        loginWithPrincipal();
+
+        long queries = countQueries(() -> mealsService.getMealsByDate(LocalDate.now()));
+
+        assertThat(queries).isEqualTo(1);
+        verify(mealsConverter).toDtoList(argThat(meals -> meals.size() == 1));
+    }
+
+    @Test
+    void getMeal_runsOnlyMealSelect() {
+        // 소유자 확인은 id 비교: 식단 SELECT 한 번, 사용자 SELECT 없음
+        loginWithPrincipal();
+
+        long queries = countQueries(() ->
+                assertThat(mealsService.getMeal(meal.getMealId()).getMealId()).isEqualTo(meal.getMealId()));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void updateMeal_runsMealSelectAndUpdateOnly() {
+        // getMeal 의 식단 SELECT + flush 때 UPDATE, 사용자 SELECT 없음
+        loginWithPrincipal();
+        MealsRequestDto request = new MealsRequestDto();
+        request.setMealType(MealType.DINNER);
+        request.setMenu("된장찌개");
+
+        long queries = countQueries(() -> {
+            mealsService.updateMeal(meal.getMealId(), request);
+            em.flush();
+        });
+
+        assertThat(queries).isEqualTo(2);
+        verify(challengeStampEngine).onMealMenuChanged(any(Meals.class), eq("김치찌개"));
+    }
+
+    @Test
+    void outsideRequest_doesNotCache() {
+        // 스케줄러 등 요청 밖에서는 보관소 없이 매번 조회
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), "", List.of()));
+
+        long queries = countQueries(() -> {
+            authService.getCurrentUser();
+            authService.getCurrentUser();
+        });
+
+        assertThat(queries).isEqualTo(2);
+    }
+
+    private void loginWithPrincipal() {
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+    }
+
+    private long countQueries(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
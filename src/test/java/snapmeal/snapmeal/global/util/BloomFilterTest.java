@@ -0,0 +1,79 @@
+package snapmeal.snapmeal.global.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BloomFilter 크기 계산과 오탐률
+ * - 비트 수는 m = -n·ln(p) / (ln 2)² 를 64비트 단위로 올림한 값
+ * - 넣은 값은 항상 true (거짓 음성 없음), 넣지 않은 값의 오탐률은 목표치 근처
+ */
+class BloomFilterTest {
+
+    private static final int N = 100_000;
+    private static final double P = 0.001;
+
+    @Test
+    void sizedFromExpectedInsertionsAndRate() {
+        BloomFilter filter = new BloomFilter(N, P);
+
+        long bits = (long) Math.ceil(-N * Math.log(P) / (Math.log(2) * Math.log(2)));
+        long expectedBytes = (bits + 63) / 64 * 8;
+        assertThat(filter.sizeInBytes()).isEqualTo(expectedBytes);
+        // 10만 건, 0.1% → 약 176KB
+        assertThat(filter.sizeInBytes()).isBetween(170_000L, 185_000L);
+    }
+
+    @Test
+    void lowerRateNeedsMoreBits() {
+        assertThat(new BloomFilter(N, 0.0001).sizeInBytes())
+                .isGreaterThan(new BloomFilter(N, 0.001).sizeInBytes());
+        assertThat(new BloomFilter(2L * N, P).sizeInBytes())
+                .isGreaterThan(new BloomFilter(N, P).sizeInBytes());
+    }
+
+    @Test
+    void invalidArgumentsAreClamped() {
+        // 0 건 / 0 이하 오탐률이어도 최소 한 word 로 동작
+        BloomFilter filter = new BloomFilter(0, 0.0);
+        filter.put("jti");
+
+        assertThat(filter.sizeInBytes()).isPositive();
+        assertThat(filter.mightContain("jti")).isTrue();
+    }
+
+    @Test
+    void noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(N, P);
+        for (int i = 0; i < N; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        for (int i = 0; i < N; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(N);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(N, P);
+        for (int i = 0; i < N; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int probes = 500_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+
+        // 표본 오차를 감안해 목표치의 2배 이내
+        assertThat(observed).isLessThan(2 * P);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(P / 2, 2 * P);
+    }
+}
@@ -0,0 +1,211 @@
+package snapmeal.snapmeal.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import snapmeal.snapmeal.domain.Meals;
+import snapmeal.snapmeal.domain.NutritionAnalysis;
+import snapmeal.snapmeal.domain.User;
+import snapmeal.snapmeal.domain.enums.MealType;
+import snapmeal.snapmeal.web.dto.DailyNutritionTotalsDto;
+
+/**
+ * 날짜별 영양 합계 쿼리 회귀 테스트 (MySQL 컨테이너, Docker 없으면 건너뜀)
+ * - 실제로 쓰이는 sumDailyTotalsByUser(하루 합계 재계산) / sumDailyTotalsByUsers(주간 리포트) / sumDailyTotals(야간 재계산)
+ * - Hibernate 가 만든 SQL 을 StatementInspector 로 잡아 그대로 EXPLAIN → meals 인덱스를 타는지 확인
+ * - ANALYZE TABLE 은 암묵적으로 커밋하므로 테스트 트랜잭션 없이, 데이터는 한 번 커밋해 넣고 끝나면 지움
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "snapmeal.snapmeal.repository.NutritionAnalysisRepositoryTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NutritionAnalysisRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    /** Hibernate 가 실행하는 SQL 기록 */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 9, 30);
+    private static final int USERS = 20;
+    private static final int DAYS = 30;
+
+    @Autowired
+    private NutritionAnalysisRepository nutritionAnalysisRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MealsRepository mealsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        // 여러 사용자, 여러 날짜에 식단을 흩어 넣어 인덱스를 쓰는 편이 유리하도록 구성
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int u = 0; u < USERS; u++) {
+                User user = userRepository.save(User.builder().email("user" + u + "@snapmeal.test").build());
+                userIds.add(user.getId());
+                for (int d = 0; d < DAYS; d++) {
+                    saveMeal(user, TODAY.minusDays(d).atTime(12, 0));
+                }
+                // 경계값: 오늘 23:59:59 는 포함, 내일 00:00 은 제외
+                saveMeal(user, TODAY.atTime(23, 59, 59));
+                saveMeal(user, TODAY.plusDays(1).atStartOfDay());
+            }
+        });
+        jdbcTemplate.execute("ANALYZE TABLE meals, nutrition_analysis");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM meals");
+        jdbcTemplate.update("DELETE FROM nutrition_analysis");
+        jdbcTemplate.update("DELETE FROM `user`");
+    }
+
+    @BeforeEach
+    void resetCapture() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void sumDailyTotalsByUser_sumsOnlyThatDay() {
+        List<DailyNutritionTotalsDto> totals = nutritionAnalysisRepository.sumDailyTotalsByUser(
+                userIds.get(0), TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay());
+
+        assertThat(totals).hasSize(1);
+        assertThat(totals.get(0).getMealCount()).isEqualTo(2L);
+        assertThat(totals.get(0).getCalories()).isEqualTo(1000L);
+    }
+
+    @Test
+    void sumDailyTotalsByUser_planUsesUserDateIndex() {
+        LocalDateTime start = TODAY.atStartOfDay();
+        LocalDateTime end = TODAY.plusDays(1).atStartOfDay();
+        nutritionAnalysisRepository.sumDailyTotalsByUser(userIds.get(0), start, end);
+
+        List<Map<String, Object>> plan = explainLast(userIds.get(0), Timestamp.valueOf(start), Timestamp.valueOf(end));
+
+        assertNoFullScan(plan);
+        assertThat(plan).anySatisfy(row -> assertThat(row.get("key")).isEqualTo("idx_meals_user_meal_date"));
+    }
+
+    @Test
+    void sumDailyTotalsByUsers_planUsesMealsIndex() {
+        LocalDateTime start = TODAY.minusDays(6).atStartOfDay();
+        LocalDateTime end = TODAY.plusDays(1).atStartOfDay();
+        List<Long> page = userIds.subList(0, 2);
+        List<DailyNutritionTotalsDto> totals = nutritionAnalysisRepository.sumDailyTotalsByUsers(page, start, end);
+
+        assertThat(totals).hasSize(2 * 7);
+
+        List<Object> params = new ArrayList<>(page);
+        params.add(Timestamp.valueOf(start));
+        params.add(Timestamp.valueOf(end));
+        List<Map<String, Object>> plan = explainLast(params.toArray());
+
+        assertNoFullScan(plan);
+        assertThat(plan).anySatisfy(row ->
+                assertThat(row.get("key")).isIn("idx_meals_user_meal_date", "idx_meals_meal_date_user"));
+    }
+
+    @Test
+    void sumDailyTotals_planUsesDateIndex() {
+        LocalDateTime start = TODAY.atStartOfDay();
+        LocalDateTime end = TODAY.plusDays(1).atStartOfDay();
+        List<DailyNutritionTotalsDto> totals = nutritionAnalysisRepository.sumDailyTotals(start, end);
+
+        assertThat(totals).hasSize(USERS);
+
+        List<Map<String, Object>> plan = explainLast(Timestamp.valueOf(start), Timestamp.valueOf(end));
+
+        assertNoFullScan(plan);
+        assertThat(plan).anySatisfy(row -> assertThat(row.get("key")).isEqualTo("idx_meals_meal_date_user"));
+    }
+
+    // 방금 실행된 합계 쿼리(Hibernate 생성 SQL)를 같은 파라미터로 EXPLAIN
+    private List<Map<String, Object>> explainLast(Object... params) {
+        String sql = SqlCapture.STATEMENTS.stream()
+                .filter(s -> s.contains("nutrition_analysis"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("captured SQL 없음: " + SqlCapture.STATEMENTS));
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, params);
+    }
+
+    private static void assertNoFullScan(List<Map<String, Object>> plan) {
+        assertThat(plan).isNotEmpty();
+        assertThat(plan).allSatisfy(row -> {
+            assertThat(row.get("type")).as("full scan: %s", row).isNotEqualTo("ALL");
+            assertThat(row.get("key")).as("no index: %s", row).isNotNull();
+        });
+    }
+
+    private void saveMeal(User user, LocalDateTime mealDate) {
+        NutritionAnalysis nutrition = nutritionAnalysisRepository.save(NutritionAnalysis.builder()
+                .foodNames("김치찌개")
+                .calories(500)
+                .protein(20.0)
+                .carbs(60.0)
+                .sugar(5.0)
+                .fat(15.0)
+                .sodium(1.2)
+                .user(user)
+                .build());
+        mealsRepository.save(Meals.builder()
+                .mealType(MealType.LUNCH)
+                .menu("김치찌개")
+                .mealDate(mealDate)
+                .nutrition(nutrition)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package snapmeal.snapmeal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import snapmeal.snapmeal.web.dto.FoodSearchDto;
+
+/**
+ * FoodSearchIndex 매칭 규칙
+ * - 마지막 글자만 입력 중(자모 접두어)일 수 있고, 앞 글자들은 음절 단위로 같아야 함
+ * - 음절 경계를 넘는 자모 매칭("밥" → "바베큐", "김" → "기무치")은 없어야 함
+ */
+class FoodSearchIndexTest {
+
+    private FoodSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodSearchIndex();
+        index.rebuild(foods("김치찌개", "김치", "김밥", "기무치", "밥버거", "바베큐", "비빔밥", "된장찌개", "닭갈비", "과일샐러드"));
+    }
+
+    @Test
+    void completeSyllablesMatchPrefix() {
+        assertThat(names("김치")).containsExactly("김치", "김치찌개");
+    }
+
+    @Test
+    void lastSyllableMayBePartial() {
+        assertThat(names("김ㅊ")).containsExactly("김치", "김치찌개");
+        assertThat(names("김치찌")).containsExactly("김치찌개");
+        assertThat(names("비비")).containsExactly("비빔밥");
+    }
+
+    @Test
+    void finalConsonantDoesNotCrossSyllableBoundary() {
+        assertThat(names("밥")).containsExactly("밥버거", "김밥", "비빔밥");
+        assertThat(names("김")).containsExactlyInAnyOrder("김밥", "김치", "김치찌개");
+        assertThat(names("김")).doesNotContain("기무치");
+    }
+
+    @Test
+    void compoundVowelsAndFinalsMatchWhileTyping() {
+        assertThat(names("고")).containsExactly("과일샐러드");
+        assertThat(names("달")).containsExactly("닭갈비");
+    }
+
+    @Test
+    void substringMatchChecksSyllablesToo() {
+        assertThat(names("찌개")).containsExactly("김치찌개", "된장찌개");
+        assertThat(names("치찌")).containsExactly("김치찌개");
+        assertThat(names("장찌")).containsExactly("된장찌개");
+    }
+
+    @Test
+    void exactMatchRanksFirst() {
+        index.rebuild(foods("김치볶음밥", "김치"));
+
+        assertThat(names("김치").get(0)).isEqualTo("김치");
+    }
+
+    @Test
+    void fixtureSearch() throws Exception {
+        index.rebuild(fixture());
+
+        assertThat(names("김치찌")).contains("김치찌개");
+        assertThat(names("찌개")).allSatisfy(name -> assertThat(name).contains("찌개"));
+    }
+
+    private List<String> names(String query) {
+        return index.search(query, 1, 50).items().stream().map(FoodSearchDto::getName).toList();
+    }
+
+    private static List<FoodSearchDto> foods(String... names) {
+        List<FoodSearchDto> foods = new ArrayList<>();
+        for (String name : names) {
+            foods.add(FoodSearchDto.builder().name(name).build());
+        }
+        return foods;
+    }
+
+    // src/test/resources/food/food-fixture.csv (food_code,name,...)
+    private static List<FoodSearchDto> fixture() throws Exception {
+        List<FoodSearchDto> foods = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                FoodSearchIndexTest.class.getResourceAsStream("/food/food-fixture.csv"), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    foods.add(FoodSearchDto.builder().name(line.split(",", -1)[1].trim()).build());
+                }
+            }
+        }
+        return foods;
+    }
+}